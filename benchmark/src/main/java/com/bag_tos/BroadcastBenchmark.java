@@ -0,0 +1,57 @@
+package com.bag_tos;
+
+import com.bag_tos.net.BinaryProtocol;
+import com.bag_tos.net.Frame;
+import com.bag_tos.net.SinkConnection;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// RoomHandler.broadcastToRoom ile N bellek içi alıcıya yayın
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BroadcastBenchmark {
+    private static final String ROOM = "BENCH";
+
+    @Param({"4", "16", "64", "256"})
+    public int recipients;
+
+    @Param({"false", "true"})
+    public boolean binary;
+
+    private RoomHandler roomHandler;
+    private SinkConnection first;
+    private Frame frame;
+
+    @Setup
+    public void setup() {
+        roomHandler = new RoomHandler();
+        roomHandler.createRoom(ROOM);
+        for (int i = 0; i < recipients; i++) {
+            SinkConnection sink = new SinkConnection(binary);
+            if (first == null) {
+                first = sink;
+            }
+            roomHandler.addToRoom(ROOM, new ClientHandler(sink, roomHandler, "oyuncu" + i));
+        }
+        frame = Frame.of("oyuncu1: merhaba millet", BinaryProtocol.chat(1, "merhaba millet"));
+    }
+
+    // Önceden kodlanmış Frame: yalnızca dağıtım maliyeti
+    @Benchmark
+    public long encodedFrame() {
+        roomHandler.broadcastToRoom(ROOM, frame);
+        return first.bytes();
+    }
+
+    // Her çağrıda yeni metin: kodlama + dağıtım (ikili alıcılarda S_TEXT'e bir kez çevrilir)
+    @Benchmark
+    public long plainText() {
+        roomHandler.broadcastToRoom(ROOM, "SISTEM: Oyun basliyor! Roller dagitiliyor...");
+        return first.bytes();
+    }
+}
@@ -0,0 +1,37 @@
+package com.bag_tos;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// ClientHandler'ın her gelen satırda yaptığı komut ayrıştırması: Command.parse + argument
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CommandParseBenchmark {
+    private String[] lines = {
+            "merhaba millet, bu gece kim ölecek?",
+            "/oyla oyuncu7",
+            "/mafya doktoru hedef alalım",
+            "/oldur oyuncu3",
+            "/iyilestir oyuncu1",
+            "/ready",
+            "/bilinmeyen komut"
+    };
+
+    @Benchmark
+    @OperationsPerInvocation(7)
+    public void parseMix(Blackhole blackhole) {
+        for (String line : lines) {
+            Command command = Command.parse(line);
+            blackhole.consume(command);
+            if (command != null) {
+                blackhole.consume(command.argument(line));
+            }
+        }
+    }
+}
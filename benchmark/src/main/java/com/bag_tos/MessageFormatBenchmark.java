@@ -0,0 +1,39 @@
+package com.bag_tos;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.bag_tos.MessageUtils.*;
+
+// MessageUtils.formatMessage çeşitleri; her yayın öncesi bir kez çalışırlar
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MessageFormatBenchmark {
+    private String oyuncu = "oyuncu42";
+    private String hedef = "oyuncu7";
+
+    @Benchmark
+    public String boxed() {
+        return formatMessage("OLDURULDUN");
+    }
+
+    @Benchmark
+    public String phase() {
+        return formatMessage("Gece başladı!", Game.Phase.NIGHT, true);
+    }
+
+    @Benchmark
+    public String highlighted() {
+        return formatMessage("OY: " + oyuncu + " ->", "(2/3)", hedef, Game.Phase.DAY, false);
+    }
+
+    @Benchmark
+    public String error() {
+        return formatError("Böyle canlı bir oyuncu yok: " + hedef);
+    }
+}
@@ -0,0 +1,109 @@
+package com.bag_tos;
+
+import com.bag_tos.net.SinkConnection;
+import com.bag_tos.roles.Role;
+import com.bag_tos.roles.mafia.Mafya;
+import com.bag_tos.roles.town.Doktor;
+import com.bag_tos.roles.town.Serif;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Faz sonu işlemleri (processVotes, processNightActions) ve oy sayımı, farklı oyuncu sayılarında.
+// Maç zamanlayıcı ve olay döngüsü olmadan doğrudan kurulur; oyun hiçbir turda bitmez.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PhaseBenchmark {
+
+    @State(Scope.Thread)
+    public static class Roster {
+        @Param({"4", "16", "64", "256"})
+        public int players;
+
+        Game game;
+        int mafia;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            RoomHandler roomHandler = new RoomHandler();
+            game = new Game(1, players);
+            game.setRoomHandler(roomHandler);
+            mafia = Math.max(1, players / 4);
+            PlayerTable table = game.players();
+            for (int i = 0; i < players; i++) {
+                table.add(new ClientHandler(new SinkConnection(false), roomHandler, "oyuncu" + i));
+                Role role = i < mafia ? new Mafya() : i == mafia ? new Doktor() : new Serif();
+                table.setRole(i, role);
+            }
+        }
+
+        // Herkes son oyuncuyu (Serif) hedefler, doktor ilk mafyayı korur; ölüm sonrası mafya azınlıkta kalır
+        @Setup(Level.Invocation)
+        public void prepare() {
+            game.resetRoster();
+            int hedef = players - 1;
+            VoteTally votes = game.votes();
+            votes.reset(players);
+            for (int i = 0; i < players; i++) {
+                votes.cast(i, hedef);
+            }
+            PlayerTable table = game.players();
+            NightResolver night = game.night();
+            night.reset(players);
+            for (int i = 0; i < mafia; i++) {
+                night.submit(i, table.role(i), hedef);
+            }
+            night.submit(mafia, table.role(mafia), 0);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Ballots {
+        @Param({"4", "16", "64", "256"})
+        public int players;
+
+        final VoteTally votes = new VoteTally();
+        int[] voters;
+        int[] targets;
+
+        // Oy değişiklikleri dahil gün boyu oyuncu sayısının iki katı oy
+        @Setup(Level.Trial)
+        public void setup() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            voters = new int[players * 2];
+            targets = new int[players * 2];
+            for (int i = 0; i < voters.length; i++) {
+                voters[i] = random.nextInt(players);
+                targets[i] = random.nextInt(players);
+            }
+        }
+    }
+
+    @Benchmark
+    public int processVotes(Roster roster) {
+        roster.game.setCurrentPhase(Game.Phase.DAY);
+        roster.game.processVotes();
+        return roster.game.players().aliveCount();
+    }
+
+    @Benchmark
+    public int processNightActions(Roster roster) {
+        roster.game.setCurrentPhase(Game.Phase.NIGHT);
+        roster.game.processNightActions();
+        return roster.game.players().aliveCount();
+    }
+
+    @Benchmark
+    public int tallyDay(Ballots ballots) {
+        VoteTally votes = ballots.votes;
+        votes.reset(ballots.players);
+        for (int i = 0; i < ballots.voters.length; i++) {
+            votes.cast(ballots.voters[i], ballots.targets[i]);
+        }
+        return votes.leader();
+    }
+}
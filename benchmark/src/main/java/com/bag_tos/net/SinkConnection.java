@@ -0,0 +1,33 @@
+package com.bag_tos.net;
+
+// Soket yerine geçen bellek içi bağlantı; yayın maliyetini ağ olmadan ölçmek için yazılan baytları sayar
+public final class SinkConnection implements ClientConnection {
+    private boolean binary;
+    private long bytes;
+
+    public SinkConnection(boolean binary) {
+        this.binary = binary;
+    }
+
+    @Override
+    public void send(Frame frame) {
+        bytes += frame.bytes(binary).length;
+    }
+
+    @Override
+    public void switchToBinary() {
+        binary = true;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public void closeAfterFlush() {
+    }
+
+    public long bytes() {
+        return bytes;
+    }
+}
@@ -2,12 +2,21 @@ package com.example.tos_client;
 
 import java.io.*;
 import java.net.*;
+import java.text.SimpleDateFormat;
+import java.util.Date;
 import java.util.Scanner;
 
 public class Client {
+    private static final String HOST = "localhost";
+    private static final int PORT = 1234;
+
+    private static volatile PrintWriter out;
+    private static String token;   // OTURUM ile gelen jeton
+    private static long received;  // Jetondan sonra alınan satır sayısı
+
     public static void main(String[] args) throws IOException {
-        Socket socket = new Socket("localhost", 1234);
-        PrintWriter out = new PrintWriter(socket.getOutputStream(), true);
+        Socket socket = new Socket(HOST, PORT);
+        out = new PrintWriter(socket.getOutputStream(), true);
         BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
         Scanner scanner = new Scanner(System.in);
 
@@ -16,14 +25,12 @@ public class Client {
         }
 
         new Thread(() -> {
-            try {
-                String gelenMesaj;
-                while ((gelenMesaj = in.readLine()) != null) {
-                    System.out.println(gelenMesaj);
-                }
-            } catch (IOException e) {
-                e.printStackTrace();
+            BufferedReader reader = in;
+            while (reader != null) {
+                read(reader);
+                reader = reconnect();
             }
+            System.out.println("Sunucu bağlantısı kapandı.");
         }).start();
 
         //System.out.print("Kullanici adi: ");
@@ -36,6 +43,69 @@ public class Client {
         }
     }
 
+    private static void read(BufferedReader in) {
+        try {
+            String gelenMesaj;
+            while ((gelenMesaj = in.readLine()) != null) {
+                if (gelenMesaj.equals("PING")) {
+                    // Sunucunun canlılık yoklaması; oturum sayımına girmez
+                    out.println("/pong");
+                    continue;
+                }
+                if (gelenMesaj.startsWith("OTURUM:")) {
+                    token = gelenMesaj.substring("OTURUM:".length());
+                    received = 0;
+                    continue;
+                }
+                if (gelenMesaj.startsWith("DEVAM:")) {
+                    // Sunucu tekrar göndereceği ilk mesajdan önceki sayıyı bildirir
+                    received = Long.parseLong(gelenMesaj.substring("DEVAM:".length()));
+                    System.out.println("Yeniden bağlandı.");
+                    continue;
+                }
+                if (token != null) {
+                    received++;
+                }
+                if (gelenMesaj.startsWith("FAZ_BITIS:")) {
+                    // Sunucu faz bitişini epoch milisaniye olarak gönderir
+                    long bitis = Long.parseLong(gelenMesaj.substring("FAZ_BITIS:".length()));
+                    System.out.println("Faz bitişi: " + new SimpleDateFormat("HH:mm:ss").format(new Date(bitis)));
+                    continue;
+                }
+                System.out.println(gelenMesaj);
+            }
+        } catch (IOException e) {
+            System.out.println("Bağlantı koptu: " + e.getMessage());
+        }
+    }
+
+    // Oturum varsa birkaç kez yeniden bağlanıp kaldığı yerden devam eder; kullanıcı adı tekrar sorulmaz
+    private static BufferedReader reconnect() {
+        if (token == null) {
+            return null;
+        }
+        for (int attempt = 1; attempt <= 10; attempt++) {
+            try {
+                Thread.sleep(1000L * attempt);
+                Socket socket = new Socket(HOST, PORT);
+                BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
+                PrintWriter writer = new PrintWriter(socket.getOutputStream(), true);
+                String line;
+                while ((line = in.readLine()) != null && !line.equals("KULLANICI_ADI:")) {
+                    // Karşılama satırları oturumdan önce gelir, sayılmaz
+                }
+                writer.println("/devam " + token + " " + received);
+                out = writer;
+                return in;
+            } catch (IOException e) {
+                System.out.println("Yeniden bağlanılamadı (" + attempt + "): " + e.getMessage());
+            } catch (InterruptedException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
     private static void enableANSIConsole() {
         try {
             // CMD/PowerShell'de ANSI desteğini zorla etkinleştir
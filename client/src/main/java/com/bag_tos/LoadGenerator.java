@@ -0,0 +1,285 @@
+package com.example.tos_client;
+
+import java.io.*;
+import java.net.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Arayüzsüz yük üreteci: N sanal oyuncu sunucuya bağlanır, kullanıcı adı el sıkışmasını yapar, lobide /ready
+// ile sıraya girer, maçta sohbet, /oyla, /oldur, /iyilestir ve /sorgula komutlarını düşünme süreleriyle gönderir. Bağlantı süresi,
+// sohbet yankısıyla ölçülen mesaj gecikmesi ve dakikada biten maç sayısı raporlanır.
+//
+// Ayarlar: -Dload.host, -Dload.port, -Dload.bots, -Dload.seconds, -Dload.thinkMinMs, -Dload.thinkMaxMs,
+// -Dload.rampMs (bağlantılar arası bekleme), -Dload.prefix (kullanıcı adı öneki).
+// Aynı yük sunucu -Dbagtos.io=thread|virtual|nio ile başlatılarak modlar karşılaştırılabilir.
+public class LoadGenerator {
+    private static final String HOST = System.getProperty("load.host", "localhost");
+    private static final int PORT = Integer.getInteger("load.port", 1234);
+    private static final int BOTS = Integer.getInteger("load.bots", 100);
+    private static final int SECONDS = Integer.getInteger("load.seconds", 120);
+    private static final int THINK_MIN_MS = Integer.getInteger("load.thinkMinMs", 200);
+    private static final int THINK_MAX_MS = Integer.getInteger("load.thinkMaxMs", 1000);
+    private static final int RAMP_MS = Integer.getInteger("load.rampMs", 5);
+    private static final String PREFIX = System.getProperty("load.prefix", "bot");
+
+    private static final Pattern ANSI = Pattern.compile("\u001B\\[[0-9;]*m");
+    private static final Pattern JOINED = Pattern.compile("SISTEM: (\\S+) lobiye katildi! \\((\\d+)/(\\d+)\\)");
+    private static final Pattern LEFT = Pattern.compile("SISTEM: (\\S+) (lobiden|oyundan) ayrildi");
+    private static final Pattern DIED = Pattern.compile("\\] (\\S+) (olduruldu|asildi!)");
+
+    private static final ScheduledExecutorService THINK = Executors.newScheduledThreadPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors()));
+
+    private static final Histogram connectTimes = new Histogram();
+    private static final Histogram latencies = new Histogram();
+    private static final LongAdder connected = new LongAdder();
+    private static final LongAdder failed = new LongAdder();
+    private static final LongAdder disconnected = new LongAdder();
+    private static final LongAdder received = new LongAdder();
+    private static final LongAdder sent = new LongAdder();
+    private static final LongAdder gameOverSeen = new LongAdder(); // Her oyuncu ayrı görür
+    private static volatile int gameSize = 4;
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("Yük testi: " + BOTS + " oyuncu -> " + HOST + ":" + PORT + ", " + SECONDS + " sn");
+        long start = System.nanoTime();
+        List<Bot> bots = new ArrayList<>();
+        Thread.ofPlatform().daemon().start(() -> {
+            for (int i = 0; i < BOTS; i++) {
+                Bot bot = new Bot(PREFIX + i);
+                synchronized (bots) {
+                    bots.add(bot);
+                }
+                Thread.ofVirtual().start(bot::run);
+                if (RAMP_MS > 0) {
+                    try {
+                        Thread.sleep(RAMP_MS);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }
+        });
+
+        long end = start + TimeUnit.SECONDS.toNanos(SECONDS);
+        while (System.nanoTime() < end) {
+            Thread.sleep(Math.min(10_000, Math.max(1, TimeUnit.NANOSECONDS.toMillis(end - System.nanoTime()))));
+            report(start);
+        }
+        synchronized (bots) {
+            bots.forEach(Bot::close);
+        }
+        THINK.shutdownNow();
+        System.out.println("=== SONUÇ ===");
+        report(start);
+    }
+
+    private static void report(long start) {
+        double minutes = (System.nanoTime() - start) / 60e9;
+        double games = (double) gameOverSeen.sum() / gameSize;
+        System.out.printf("bağlı=%d hata=%d kopan=%d gönderilen=%d alınan=%d | bağlantı ms %s | gecikme ms %s | maç=%.0f (%.1f/dk)%n",
+                connected.sum(), failed.sum(), disconnected.sum(), sent.sum(), received.sum(),
+                connectTimes.summary(), latencies.summary(), games, minutes > 0 ? games / minutes : 0);
+    }
+
+    private static long think() {
+        return ThreadLocalRandom.current().nextLong(THINK_MIN_MS, THINK_MAX_MS + 1L);
+    }
+
+    // Sunucu mesajlarına tepki veren tek oyuncu; okuma kendi sanal thread'inde, komutlar düşünme
+    // süresi sonunda ortak zamanlayıcıdan gönderilir
+    private static final class Bot {
+        private final String baseName;
+        private String name;
+        private Socket socket;
+        private PrintWriter out;
+        private final List<String> others = new CopyOnWriteArrayList<>(); // Canlı diğer oyuncular
+        private volatile boolean alive;
+        private volatile boolean closed;
+        private int attempt;
+
+        Bot(String baseName) {
+            this.baseName = baseName;
+            this.name = baseName;
+        }
+
+        void run() {
+            long t0 = System.nanoTime();
+            try {
+                socket = new Socket(HOST, PORT);
+                socket.setTcpNoDelay(true);
+            } catch (IOException e) {
+                failed.increment();
+                return;
+            }
+            connectTimes.record(System.nanoTime() - t0);
+            connected.increment();
+            try (BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))) {
+                out = new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), true);
+                String line;
+                while ((line = in.readLine()) != null) {
+                    received.increment();
+                    onLine(ANSI.matcher(line).replaceAll(""));
+                }
+            } catch (IOException e) {
+                // Kapatılırken beklenen
+            }
+            if (!closed) {
+                disconnected.increment();
+            }
+        }
+
+        private void onLine(String line) {
+            if (line.equals("PING")) {
+                send("/pong");
+                return;
+            }
+            if (line.equals("KULLANICI_ADI:")) {
+                name = attempt++ == 0 ? baseName : baseName + "_" + attempt;
+                send(name);
+                return;
+            }
+            if (line.startsWith("SISTEM: Lobidesiniz")) {
+                later("/ready"); // Bağlanınca ve her maç sonunda
+                return;
+            }
+            Matcher m = JOINED.matcher(line);
+            if (m.find()) {
+                String player = m.group(1);
+                if (player.equals(name)) {
+                    alive = true;
+                    chat();
+                } else if (!others.contains(player)) {
+                    others.add(player);
+                }
+                gameSize = Integer.parseInt(m.group(3));
+                return;
+            }
+            if ((m = LEFT.matcher(line)).find() || (m = DIED.matcher(line)).find()) {
+                others.remove(m.group(1));
+                return;
+            }
+            if (line.startsWith(name + ": yuk ")) {
+                // Kendi sohbet mesajının yankısı: içinde gönderim anı var
+                latencies.record(System.nanoTime() - Long.parseLong(line.substring(name.length() + 6)));
+                return;
+            }
+            if (line.equals("OLDURULDUN") || line.equals("ASILDIN")) {
+                alive = false;
+            } else if (line.startsWith("AKSIYON: /oldur")) {
+                target("/oldur ");
+            } else if (line.startsWith("AKSIYON: /iyilestir")) {
+                target("/iyilestir ");
+            } else if (line.startsWith("AKSIYON: /sorgula")) {
+                target("/sorgula ");
+            } else if (line.contains("Gündüz başladı")) {
+                chat();
+                target("/oyla ");
+            } else if (line.contains("OYUN BİTTİ")) {
+                gameOverSeen.increment();
+                others.clear(); // Sunucu herkesi ortak lobiye geri alır
+            }
+        }
+
+        private void chat() {
+            THINK.schedule(() -> {
+                if (!alive) {
+                    return;
+                }
+                send("yuk " + System.nanoTime());
+            }, think(), TimeUnit.MILLISECONDS);
+        }
+
+        private void target(String command) {
+            THINK.schedule(() -> {
+                if (!alive || others.isEmpty()) {
+                    return;
+                }
+                // Doktor kendini de seçebilir; basitlik için yalnızca diğerleri
+                String target = others.get(ThreadLocalRandom.current().nextInt(others.size()));
+                send(command + target);
+            }, think(), TimeUnit.MILLISECONDS);
+        }
+
+        private void later(String command) {
+            THINK.schedule(() -> send(command), think(), TimeUnit.MILLISECONDS);
+        }
+
+        private void send(String line) {
+            PrintWriter writer = out;
+            if (writer != null && !closed) {
+                synchronized (this) {
+                    writer.println(line);
+                }
+                sent.increment();
+            }
+        }
+
+        void close() {
+            closed = true;
+            try {
+                if (socket != null) {
+                    socket.close();
+                }
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    // Kilitsiz, logaritmik kovalı gecikme histogramı (~%12 çözünürlük, mikrosaniye)
+    private static final class Histogram {
+        private static final int SUB_BUCKETS = 8;
+        private final AtomicLongArray buckets = new AtomicLongArray(64 * SUB_BUCKETS);
+        private final LongAdder count = new LongAdder();
+
+        void record(long nanos) {
+            buckets.incrementAndGet(index(Math.max(1, nanos / 1000)));
+            count.increment();
+        }
+
+        private static int index(long micros) {
+            int exponent = 63 - Long.numberOfLeadingZeros(micros);
+            if (exponent < 3) {
+                return (int) micros; // 1..7 doğrudan
+            }
+            int mantissa = (int) ((micros >>> (exponent - 3)) & (SUB_BUCKETS - 1));
+            return exponent * SUB_BUCKETS + mantissa;
+        }
+
+        // Kovanın üst sınırı, mikrosaniye
+        private static long upperBound(int index) {
+            if (index < SUB_BUCKETS) {
+                return index;
+            }
+            int exponent = index / SUB_BUCKETS;
+            int mantissa = index % SUB_BUCKETS;
+            return ((long) (SUB_BUCKETS + mantissa + 1) << (exponent - 3)) - 1;
+        }
+
+        private double percentile(double p, long total) {
+            long rank = (long) Math.ceil(total * p);
+            long seen = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                seen += buckets.get(i);
+                if (seen >= rank) {
+                    return upperBound(i) / 1000.0;
+                }
+            }
+            return 0;
+        }
+
+        String summary() {
+            long total = count.sum();
+            if (total == 0) {
+                return "-";
+            }
+            return String.format("p50=%.1f p90=%.1f p99=%.1f max=%.1f (n=%d)",
+                    percentile(0.50, total), percentile(0.90, total), percentile(0.99, total), percentile(1.0, total), total);
+        }
+    }
+}
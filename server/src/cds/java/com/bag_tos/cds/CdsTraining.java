@@ -0,0 +1,140 @@
+package com.bag_tos.cds;
+
+import com.bag_tos.Server;
+import com.bag_tos.net.BinaryProtocol;
+
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+// jlink imajının AppCDS eğitim koşusu: sunucuyu boş bir portta açar, metin ve ikili protokolden oyuncularla kısa
+// bir maç oynatıp çıkar. Yüklenen sınıflar -XX:DumpLoadedClassList ile listelenir ve imajın varsayılan CDS
+// arşivine yazılır (server/pom.xml, image profili). G/Ç modu -Dbagtos.io ile seçilir.
+// Yalnızca derleme aracıdır: image profilinde target/cds-classes'a ayrı derlenir, jar'a ve imaja girmez. İmajın
+// java'sı onu sınıf yolundan çalıştırır; modül dışında olduğu için Log'a erişemez, çıktısı Maven günlüğüne gider.
+// BinaryProtocol'den yalnızca derleme anında gömülen sabitler kullanılır (paket dışa açık değil).
+public final class CdsTraining {
+    private static final int PLAYERS = 3;
+    private static final long TIMEOUT_SECONDS = 30;
+
+    public static void main(String[] args) throws Exception {
+        int port;
+        try (ServerSocket probe = new ServerSocket(0)) {
+            port = probe.getLocalPort();
+        }
+        // ServerConfig ilk kullanımda okunur; ayarlar ondan önce verilmeli
+        System.setProperty("bagtos.port", String.valueOf(port));
+        System.setProperty("bagtos.metricsPort", "0");
+        System.setProperty("bagtos.gameSize", String.valueOf(PLAYERS));
+        System.setProperty("bagtos.phaseSeconds", "1");
+        System.setProperty("bagtos.journalDir", Files.createTempDirectory("bagtos-cds").toString());
+        System.setProperty("bagtos.journalSegmentMb", "1");
+
+        Thread server = new Thread(() -> {
+            try {
+                Server.main(new String[0]);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }, "cds-server");
+        server.setDaemon(true);
+        server.start();
+
+        CountDownLatch over = new CountDownLatch(1);
+        for (int i = 0; i < PLAYERS - 1; i++) {
+            String name = "cds" + i;
+            String other = "cds" + (i + 1) % PLAYERS;
+            Thread player = new Thread(() -> play(port, name, other, over), name);
+            player.setDaemon(true);
+            player.start();
+        }
+        Thread binary = new Thread(() -> playBinary(port, "cds" + (PLAYERS - 1)), "cds-binary");
+        binary.setDaemon(true);
+        binary.start();
+
+        if (!over.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            System.err.println("Egitim maci zamaninda bitmedi, o ana kadar yuklenen siniflar arsivlenecek.");
+        }
+        System.exit(0);
+    }
+
+    // Her istemi yanıtlar: gece aksiyonu ve gündüz oyu hep sıradaki oyuncuya
+    private static void play(int port, String name, String target, CountDownLatch over) {
+        try (Socket socket = connect(port)) {
+            PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.equals("KULLANICI_ADI:")) {
+                    out.println(name);
+                } else if (line.startsWith("SISTEM: Lobidesiniz")) {
+                    out.println("/ready");
+                } else if (line.equals("PING")) {
+                    out.println("/pong");
+                } else if (line.startsWith("AKSIYON: /")) {
+                    out.println(line.substring("AKSIYON: ".length(), line.indexOf(' ', "AKSIYON: ".length())) + " " + target);
+                } else if (line.startsWith("FAZ_BITIS:")) {
+                    out.println("merhaba");
+                    out.println("/oyla " + target);
+                } else if (line.contains("OYUN BİTTİ")) {
+                    over.countDown();
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            System.err.println(name + ": " + e.getMessage());
+        }
+    }
+
+    // İkili oyuncu yalnızca el sıkışır, sıraya girer ve sohbet eder; gelen çerçeveler okunup atılır
+    private static void playBinary(int port, String name) {
+        try (Socket socket = connect(port)) {
+            DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+            out.write((BinaryProtocol.NEGOTIATE + "\n").getBytes(StandardCharsets.UTF_8));
+            frame(out, BinaryProtocol.C_USERNAME, name);
+            frame(out, BinaryProtocol.C_READY, "");
+            frame(out, BinaryProtocol.C_CHAT, "merhaba");
+            socket.getInputStream().transferTo(OutputStream.nullOutputStream());
+        } catch (IOException e) {
+            System.err.println(name + ": " + e.getMessage());
+        }
+    }
+
+    private static void frame(DataOutputStream out, int opcode, String text) throws IOException {
+        byte[] payload = text.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(1 + payload.length);
+        out.writeByte(opcode);
+        out.write(payload);
+        out.flush();
+    }
+
+    // Sunucu thread'i portu açana kadar birkaç kez denenir
+    private static Socket connect(int port) throws IOException {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                return new Socket("127.0.0.1", port);
+            } catch (IOException e) {
+                if (attempt == 50) {
+                    throw e;
+                }
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException interrupted) {
+                    throw new IOException(interrupted);
+                }
+            }
+        }
+    }
+
+    private CdsTraining() {
+    }
+}
@@ -1,37 +1,101 @@
 package com.bag_tos;
 
-import java.io.*;
-import java.net.Socket;
+import com.bag_tos.log.Log;
+import com.bag_tos.metrics.Counter;
+import com.bag_tos.metrics.Metrics;
+import com.bag_tos.net.BinaryProtocol;
+import com.bag_tos.net.ClientConnection;
+import com.bag_tos.net.Frame;
+import com.bag_tos.net.LineHandler;
+import com.bag_tos.roles.Faction;
+import com.bag_tos.roles.Role;
+import com.bag_tos.timer.Timeout;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static com.bag_tos.MessageUtils.*;
 
-public class ClientHandler implements Runnable {
-    private Socket socket;
-    private BufferedReader in;
-    private PrintWriter out;
+public class ClientHandler implements LineHandler {
+    private static final Counter ACTIVE_CONNECTIONS = Metrics.counter("connections.active");
+    private static final Counter TOTAL_CONNECTIONS = Metrics.counter("connections.total");
+    private static final Counter RESUMED = Metrics.counter("sessions.resumed");
+    private static final Counter EXPIRED = Metrics.counter("sessions.expired");
+    private static final Counter REAPED = Metrics.counter("connections.reaped");
+    private static final Frame PING = Frame.of("PING", BinaryProtocol.ping()); // Oturum tamponuna yazılmaz
+    private static final long KICK_LINGER_SECONDS = 2; // Atılan istemcinin bildirimi okuyup kapatması için
+
+    private volatile ClientConnection connection; // Yeniden bağlanınca değişir
+    private boolean binary;
+    private volatile Session session;
+    private volatile boolean detached; // Bağlantı koptu, oturum bekleme süresinde
+    private ClientHandler resumed; // Bu bağlantı başka bir oturuma devam ediyor
+    private volatile long lastInbound = System.nanoTime();
+    private volatile boolean handshaken; // Kullanıcı adı, /devam ya da /izle kabul edildi
+    private volatile boolean disconnected;
+    private volatile Timeout heartbeat;
+    private volatile boolean kicked; // Hız sınırı yüzünden atıldı, oturum beklenmez
+    private final RateLimiter limiter = new RateLimiter();
+    private SpectatorFeed.Spectator spectator; // Kullanıcı adı yerine bir maçı izliyor
     private String username;
     //private Lobby lobby;
     private RoomHandler roomHandler;
-    private Game game;
-    private boolean isAlive = true;
+    private volatile Game game;
+    private volatile boolean isAlive = true;
 
-    public ClientHandler(Socket socket, RoomHandler roomHandler) throws IOException {
-        this.socket = socket;
+    public ClientHandler(ClientConnection connection, RoomHandler roomHandler) {
+        this.connection = connection;
         this.roomHandler = roomHandler;
-        this.in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
-        this.out = new PrintWriter(socket.getOutputStream(), true);
+    }
+
+    // El sıkışması yapılmış sayılan oyuncu; benchmark modülü lobiye girmeden maç kurar
+    ClientHandler(ClientConnection connection, RoomHandler roomHandler, String username) {
+        this(connection, roomHandler);
+        this.username = username;
+        this.handshaken = true;
     }
 
     public void setAlive(boolean alive) {
         isAlive = alive;
     }
 
+    // Çöken açılıştan kurtarılan maçın oyuncusu: bağlantısı yok, eski jetonlu oturumu bekleme süresinde.
+    // İstemci /devam ile bağlanmazsa süre dolunca ayrılmış sayılır.
+    static ClientHandler restored(RoomHandler roomHandler, String username, Session session) {
+        ClientHandler handler = new ClientHandler(null, roomHandler, username);
+        handler.session = session;
+        handler.detached = true;
+        session.setGrace(Game.TIMER.schedule(() -> Game.WORKERS.execute(handler::expire),
+                ServerConfig.RECONNECT_GRACE_SECONDS, TimeUnit.SECONDS));
+        return handler;
+    }
+
     public String getUsername() {
         return username;
     }
 
+    Session session() {
+        return session;
+    }
+
     public void sendMessage(String message) {
-        out.println(message);
+        sendFrame(Frame.of(message));
+    }
+
+    // Oturum açıldıktan sonra her mesaj önce halka tampona yazılır; bağlantı kopuksa yalnızca orada bekler
+    public void sendFrame(Frame frame) {
+        Session current = session;
+        if (current == null) {
+            connection.send(frame);
+            return;
+        }
+        synchronized (current) {
+            current.record(frame);
+            if (!detached) {
+                connection.send(frame);
+            }
+        }
     }
 
     public void setGame(Game game) {
@@ -39,122 +103,457 @@ public class ClientHandler implements Runnable {
     }
 
     @Override
-    public void run() {
-        try {
-            out.println("HOŞ GELDINIZ");
-            String proposedUsername;
-            boolean isUsernameValid;
-
-            do {
-                isUsernameValid = true; // Varsayılan olarak geçerli kabul et
-                out.println("KULLANICI_ADI:"); // Kullanıcıdan giriş iste
-                out.flush(); // Mesajın hemen gitmesini sağla
-                proposedUsername = in.readLine();
-
-                // Bağlantı kopması kontrolü
-                if (proposedUsername == null) {
-                    throw new IOException("Bağlantı kesildi.");
-                }
+    public void onConnect() {
+        ACTIVE_CONNECTIONS.increment();
+        TOTAL_CONNECTIONS.increment();
+        sendMessage("HOŞ GELDINIZ");
+        sendMessage("KULLANICI_ADI:"); // Kullanıcıdan giriş iste
+        if (ServerConfig.HEARTBEAT_SECONDS > 0) {
+            scheduleHeartbeat(ServerConfig.HANDSHAKE_TIMEOUT_SECONDS);
+        }
+    }
 
-                // Boşluk veya boş giriş kontrolü
-                if (proposedUsername.trim().isEmpty()) {
-                    out.println(MessageUtils.formatWarning("Kullanıcı adı boş olamaz!"));
-                    isUsernameValid = false; // Döngüyü yeniden başlat
-                }
-                // Kullanıcı adı alınmış mı kontrolü
-                else if (roomHandler.isUsernameTaken(proposedUsername)) {
-                    out.println(MessageUtils.formatWarning("Bu kullanıcı adı zaten alındı!"));
-                    isUsernameValid = false;
-                }
+    // Taşıma katmanı (thread ya da NIO event loop) her tam satır için çağırır
+    @Override
+    public void onLine(String message) {
+        lastInbound = System.nanoTime();
+        if (kicked) {
+            return; // Bağlantı kapanırken gelenler
+        }
+        if (message.equals("/pong")) {
+            return;
+        }
+        if (resumed != null) {
+            resumed.onLine(message);
+            return;
+        }
+        Command command = Command.parse(message);
+        if (username == null && command != null && !command.beforeLogin()) {
+            command = null; // Girişten önce diğer satırlar kullanıcı adıdır
+        }
+        if (!admit(command, command == Command.CHAT ? command.argument(message) : null)) {
+            return;
+        }
+        if (isWatching()) {
+            sendMessage(formatWarning("İzleyiciler mesaj gönderemez."));
+            return;
+        }
+        if (username == null) {
+            if (message.equals(BinaryProtocol.NEGOTIATE)) {
+                // Onay hâlâ metin olarak gider, sonrası ikili çerçeveler
+                sendMessage(BinaryProtocol.ACK);
+                connection.switchToBinary();
+                binary = true;
+                sendMessage("KULLANICI_ADI:");
+                return;
+            }
+            if (command != null) {
+                command.counter().increment();
+                command.execute(this, null, command.argument(message));
+                return;
+            }
+            handleUsername(message);
+            return;
+        }
 
-            } while (!isUsernameValid); // Geçerli bir isim alana kadar döngü
+        if (command == null) {
+            return; // Tanınmayan komutlar yok sayılır
+        }
+        if (command.beforeLogin()) {
+            sendMessage(formatError("Zaten giriş yaptınız."));
+            return;
+        }
+        String argument = command.argument(message);
+        if (argument == null && command.getArgument() != Command.Argument.NONE) {
+            sendUsage(command);
+            return;
+        }
+        execute(command, argument);
+    }
 
-            username = proposedUsername;
-            roomHandler.addUsername(username);
-            roomHandler.addToRoom("LOBBY", this);
-            game = roomHandler.game;
+    private void sendUsage(Command command) {
+        String argument = command.getArgument() == Command.Argument.TARGET ? " <oyuncu>" : " <mesaj>";
+        sendMessage(formatError("Kullanım: " + command.getName() + argument));
+    }
 
-            // Mesajları dinle
-            String message;
-            while ((message = in.readLine()) != null) {
-                if (!isAlive) {
-                    out.println("[HATA] Ölüsünüz, işlem yapamazsınız!");
-                    continue;
+    // İkili protokol: oyuncular numarayla gelir, metin yolundaki aynı işleyicilere gider
+    @Override
+    public void onFrame(int opcode, ByteBuffer payload) {
+        lastInbound = System.nanoTime();
+        if (kicked) {
+            return;
+        }
+        if (opcode == BinaryProtocol.C_PONG) {
+            return;
+        }
+        if (resumed != null) {
+            resumed.onFrame(opcode, payload);
+            return;
+        }
+        if (username == null) {
+            Command command = Command.fromOpcode(opcode);
+            if (command != null && !command.beforeLogin()) {
+                command = null;
+            }
+            if (!admit(command, null) || isWatching()) {
+                return;
+            }
+            if (opcode == BinaryProtocol.C_USERNAME) {
+                handleUsername(BinaryProtocol.readText(payload));
+            } else if (command == Command.RESUME && payload.remaining() >= 8) {
+                command.counter().increment();
+                long received = payload.getLong();
+                handleResume(BinaryProtocol.readText(payload), received);
+            } else if (command == Command.WATCH && payload.remaining() >= 4) {
+                command.counter().increment();
+                handleWatch(payload.getInt());
+            }
+            return;
+        }
+        Command command = Command.fromOpcode(opcode);
+        String text = command != null && command.getArgument() == Command.Argument.TEXT ? BinaryProtocol.readText(payload) : null;
+        if (!admit(command, command == Command.CHAT ? text : null)) {
+            return;
+        }
+        if (command == null) {
+            sendMessage(formatError("Bilinmeyen komut"));
+            return;
+        }
+        if (command.beforeLogin()) {
+            sendMessage(formatError("Zaten giriş yaptınız."));
+            return;
+        }
+        switch (command.getArgument()) {
+            case TEXT -> {
+                if (text.isEmpty() && command != Command.CHAT) {
+                    sendUsage(command);
+                    return;
                 }
-                if (message.startsWith("/")) {
-                    //System.out.println("[DEBUG] Alınan komut: " + message);
-                    if (message.startsWith("/mafya ")) {
-                        handleMafiaCommand(message);
-                    } else if (message.startsWith("/ready") || message.startsWith("/start")) {
-                        if (message.startsWith("/ready")) {
-                            roomHandler.readyCount++;
-                            System.out.println("ready istegi: " + roomHandler.readyCount);
-                        } else if (message.startsWith("/start")) {
-                            roomHandler.startCount++;
-                            System.out.println("start istegi: " + roomHandler.readyCount);
-                        }
-                        roomHandler.readyCountHandle();
-                    } else if (game != null) {
-                        if (game.getCurrentPhase() == Game.Phase.NIGHT) {
-                            handleNightCommand(message);
-                        } else {
-                            handleDayCommand(message);
-                        }
+                execute(command, text);
+            }
+            case TARGET -> {
+                // Oyuncu tablosu yalnızca maçın döngüsünde okunur
+                int target = BinaryProtocol.readPlayerId(payload);
+                Game current = game;
+                if (current == null) {
+                    executeInLobby(command, null);
+                    return;
+                }
+                current.submit(() -> {
+                    String argument = current.getPlayerName(target);
+                    if (argument != null) {
+                        execute(current, command, argument);
                     }
-                } else {
-                    handleGeneralMessage(message);
+                });
+            }
+            default -> execute(command, null);
+        }
+    }
+
+    // Hız sınırı; false dönerse satır işlenmez (atıldı, birleşik sohbete eklendi ya da bağlantı kesildi)
+    private boolean admit(Command command, String chat) {
+        switch (limiter.check(command, System.nanoTime())) {
+            case ALLOW -> {
+                return true;
+            }
+            case MERGE -> {
+                if (limiter.merge(chat)) {
+                    scheduleChatFlush();
                 }
             }
-        } catch (IOException e) {
-            System.out.println("Hata: " + username + " baglantisi kesildi.");
-        } finally {
-            try {
-                socket.close();
-            } catch (IOException e) {
-                e.printStackTrace();
+            case WARN -> sendMessage(formatWarning("Çok hızlı mesaj gönderiyorsunuz, fazlası atıldı."));
+            case DROP -> {
             }
+            case ABUSE -> kick();
         }
+        return false;
+    }
+
+    private void scheduleChatFlush() {
+        Game.TIMER.schedule(() -> Game.WORKERS.execute(this::flushChat), limiter.nanosUntilChat(System.nanoTime()), TimeUnit.NANOSECONDS);
     }
 
-    private void handleDayCommand(String message) {
-        if (message.startsWith("/oyla ")) {
-            String target = message.split(" ")[1];
-            game.handleVote(username, target);
+    // Sohbet kovasına jeton dolduysa biriken mesajlar tek mesaj olarak gider
+    private void flushChat() {
+        String merged = limiter.drain(System.nanoTime());
+        if (merged == null) {
+            scheduleChatFlush(); // Jetonu araya giren başka bir mesaj aldı
+        } else if (!merged.isEmpty() && !kicked) {
+            execute(Command.CHAT, merged);
         }
     }
 
-    private void handleNightCommand(String message) {
-        if (message.startsWith("/oldur ") || message.startsWith("/iyilestir ")) {
-            game.handleAction(username, message);
+    private void kick() {
+        if (kicked) {
+            return;
         }
+        kicked = true;
+        limiter.discard();
+        Log.warn("{} hiz sinirini asti, baglanti kesiliyor.", username);
+        sendMessage(formatError("Çok fazla mesaj gönderdiğiniz için bağlantınız kesildi."));
+        // close() yazıcıyı keser ve bildirim kaybolur; önce kuyruk boşaltılır, istemci kapatmazsa süre sonunda kapatılır
+        connection.closeAfterFlush();
+        Game.TIMER.schedule(connection::close, KICK_LINGER_SECONDS, TimeUnit.SECONDS);
     }
 
-    public boolean isAlive() {
-        return isAlive;
+    private void execute(Command command, String argument) {
+        Game current = game;
+        if (current == null) {
+            executeInLobby(command, argument);
+            return;
+        }
+        current.submit(() -> execute(current, command, argument));
     }
 
-    private void handleMafiaCommand(String message) {
-        if (!isMafia()) {
-            sendMessage("Bu komutu kullanma yetkiniz yok!");
+    // Ortak lobide maç döngüsü yok; komut bağlantının kendi thread'inde çalışır
+    private void executeInLobby(Command command, String argument) {
+        if (!command.allowedIn(null)) {
+            sendMessage(formatError("Henüz bir maçta değilsiniz."));
             return;
         }
-        String cleanMessage = message.replaceFirst("/mafya ", "");
-        // Özel mesajı MAFYA odasına gönder
-        roomHandler.broadcastToRoom("MAFYA", "🔮 [MAFYA] " + getUsername() + ": " + cleanMessage);
+        command.counter().increment();
+        command.execute(this, null, argument);
     }
 
-    private void handleGeneralMessage(String message) {
-        // Genel mesajı LOBBY'e gönder
+    // Komutun bildirdiği canlılık ve faz kuralları tek yerde, maçın döngüsünde uygulanır
+    private void execute(Game game, Command command, String argument) {
+        if (game.isEnded()) {
+            return; // Oyuncu yeni maça alınmak üzere
+        }
+        if (!isAlive) {
+            sendMessage("[HATA] Ölüsünüz, işlem yapamazsınız!");
+            return;
+        }
+        if (!command.allowedIn(game.getCurrentPhase())) {
+            if (command.getPhaseError() != null) {
+                sendMessage(formatError(command.getPhaseError()));
+            }
+            return;
+        }
+        command.counter().increment();
+        command.execute(this, game, argument);
+    }
+
+    private void scheduleHeartbeat(long seconds) {
+        heartbeat = Game.TIMER.schedule(() -> Game.WORKERS.execute(this::heartbeat), seconds, TimeUnit.SECONDS);
+    }
+
+    // Yarı açık soketin okuyan thread'i sonsuza dek bekler; sessiz bağlantılar PING ile yoklanır, yanıt
+    // vermeyenler kapatılır. Kapanış onDisconnect'ten geçtiği için oturum, oda ve maç kayıtları normal yoldan temizlenir.
+    private void heartbeat() {
+        if (disconnected) {
+            return;
+        }
+        long idle = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - lastInbound);
+        if (!handshaken) {
+            reap("kullanici adi gelmedi");
+            return;
+        }
+        if (idle >= ServerConfig.IDLE_TIMEOUT_SECONDS) {
+            reap(idle + " sn sessiz");
+            return;
+        }
+        if (idle >= ServerConfig.HEARTBEAT_SECONDS) {
+            connection.send(PING);
+        }
+        scheduleHeartbeat(ServerConfig.HEARTBEAT_SECONDS);
+    }
+
+    private void reap(String reason) {
+        REAPED.increment();
+        Log.info("{} baglantisi kapatiliyor: {}", username, reason);
+        connection.close();
+    }
 
-        if (game.getCurrentPhase() == Game.Phase.DAY) {
-            roomHandler.broadcastToRoom("LOBBY", getUsername() + ": " + message);
+    @Override
+    public void onDisconnect() {
+        disconnected = true;
+        Timeout pending = heartbeat;
+        if (pending != null) {
+            pending.cancel();
+        }
+        ACTIVE_CONNECTIONS.decrement();
+        if (spectator != null) {
+            spectator.stop();
+            return;
+        }
+        if (resumed != null) {
+            resumed.connectionLost(connection);
         } else {
-            sendMessage(formatError("gece mesaj gönderemezsin"));
+            connectionLost(connection);
+        }
+    }
+
+    // Oturumu olan oyuncu koltuğunu bekleme süresi boyunca korur; süre dolarsa ayrılmış sayılır
+    private void connectionLost(ClientConnection lost) {
+        limiter.discard();
+        Session current = session;
+        if (current == null) {
+            Log.info("{} baglantisi kesildi.", username);
+            roomHandler.release(this);
+            return;
+        }
+        if (kicked) {
+            roomHandler.closeSession(current.token()); // Atılan oyuncu aynı jetonla geri dönemez
+            roomHandler.release(this);
+            return;
+        }
+        synchronized (current) {
+            if (lost != connection || detached) {
+                return; // Eski bağlantı, oturum zaten yenisine geçti
+            }
+            detached = true;
+            current.setGrace(Game.TIMER.schedule(() -> Game.WORKERS.execute(this::expire),
+                    ServerConfig.RECONNECT_GRACE_SECONDS, TimeUnit.SECONDS));
+        }
+        Log.info("{} baglantisi kesildi, {} sn yeniden baglanma bekleniyor.", username, ServerConfig.RECONNECT_GRACE_SECONDS);
+    }
+
+    private void expire() {
+        Session current = session;
+        synchronized (current) {
+            if (!detached) {
+                return;
+            }
+            roomHandler.closeSession(current.token());
+        }
+        EXPIRED.increment();
+        Log.info("{} oturumu sona erdi.", username);
+        roomHandler.release(this);
+    }
+
+    void handleWatchCommand(String argument) {
+        long gameId = argument == null ? -1 : Command.number(argument, 9);
+        if (gameId < 0) {
+            sendMessage(formatError("Kullanım: /izle <maç numarası>"));
+            return;
+        }
+        handleWatch((int) gameId);
+    }
+
+    // İzleyici oyuncu tablosuna girmez; maçın ortak akışından kendi hızında okur. Maç bitince yeniden
+    // kullanıcı adı girebilir ya da başka bir maçı izleyebilir.
+    private void handleWatch(int gameId) {
+        Game watched = roomHandler.findGame(gameId);
+        if (watched == null) {
+            sendMessage(formatWarning("Böyle bir oyun yok: " + gameId));
+            return;
+        }
+        SpectatorFeed feed = watched.feed();
+        sendMessage("IZLENIYOR: Oyun #" + gameId + " (gecikme " + feed.delaySeconds() + " sn)");
+        spectator = feed.watch(connection);
+        handshaken = true;
+        Log.debug("Oyun #{} izleyici eklendi", gameId);
+    }
+
+    private boolean isWatching() {
+        if (spectator != null && spectator.isFinished()) {
+            spectator = null;
+        }
+        return spectator != null;
+    }
+
+    // Metin istemcisi: "<jeton> <alınan satır>"
+    void handleResumeCommand(String argument) {
+        int space = argument == null ? -1 : argument.indexOf(' ');
+        long received = space < 0 ? -1 : Command.number(argument.substring(space + 1), 18);
+        if (space <= 0 || received < 0) {
+            sendMessage(formatError("Kullanım: /devam <jeton> <alınan satır>"));
+            return;
+        }
+        handleResume(argument.substring(0, space), received);
+    }
+
+    // Jetonu geçerli ve bağlantısı kopmuş oturum bu bağlantıya taşınır; yanıt beklenen bağlantıdan gider
+    private void handleResume(String token, long received) {
+        ClientHandler owner = roomHandler.findSession(token);
+        if (owner == null || !owner.attach(connection, binary, received)) {
+            sendMessage(formatWarning("Oturum bulunamadı ya da süresi doldu."));
+            sendMessage("KULLANICI_ADI:");
+            return;
+        }
+        resumed = owner;
+        handshaken = true;
+    }
+
+    private boolean attach(ClientConnection newConnection, boolean newBinary, long received) {
+        Session current = session;
+        int missed;
+        synchronized (current) {
+            if (!detached || current.isBinary() != newBinary) {
+                return false;
+            }
+            current.cancelGrace();
+            List<Frame> frames = current.missedSince(received);
+            missed = frames.size();
+            // Onay sayılmaz; istemci sayacını bildirilen değere ayarlayıp tekrar gelenleri sayar
+            long start = current.countBefore(missed);
+            newConnection.send(Frame.of("DEVAM:" + start, BinaryProtocol.resumed(start)));
+            frames.forEach(newConnection::send);
+            connection = newConnection;
+            detached = false;
         }
+        RESUMED.increment();
+        Log.info("{} yeniden baglandi, {} mesaj tekrar gonderildi.", username, missed);
+        return true;
     }
 
-    private boolean isMafia() {
-        return game.getRole(getUsername()) instanceof Mafya;
+    private void handleUsername(String proposedUsername) {
+        // Boşluk veya boş giriş kontrolü
+        if (proposedUsername.trim().isEmpty()) {
+            sendMessage(MessageUtils.formatWarning("Kullanıcı adı boş olamaz!"));
+            sendMessage("KULLANICI_ADI:");
+            return;
+        }
+        // Kullanıcı adı alınmış mı kontrolü
+        if (!roomHandler.reserveUsername(proposedUsername)) {
+            sendMessage(MessageUtils.formatWarning("Bu kullanıcı adı zaten alındı!"));
+            sendMessage("KULLANICI_ADI:");
+            return;
+        }
+
+        username = proposedUsername;
+        handshaken = true;
+        // Jeton sayılmaz; sayım bundan sonraki mesajlarla başlar
+        Session opened = new Session(binary, ServerConfig.REPLAY_BUFFER);
+        connection.send(Frame.of("OTURUM:" + opened.token(), BinaryProtocol.session(opened.token())));
+        roomHandler.openSession(opened.token(), this);
+        session = opened;
+        roomHandler.joinLobby(this);
+    }
+
+    void handleReady(Game game) {
+        if (game != null) {
+            sendMessage(formatWarning("Zaten bir maçtasınız."));
+            return;
+        }
+        Log.debug("ready istegi: {}", username);
+        roomHandler.enqueue(this);
+    }
+
+    public boolean isAlive() {
+        return isAlive;
+    }
+
+    void handleMafiaCommand(Game game, String cleanMessage) {
+        Role role = game.getRole(username);
+        if (role == null || role.getFaction() != Faction.MAFIA) {
+            sendMessage("Bu komutu kullanma yetkiniz yok!");
+            return;
+        }
+        // Özel mesajı MAFYA odasına gönder
+        roomHandler.broadcastToRoom(game.getMafiaRoom(), Frame.of("🔮 [MAFYA] " + getUsername() + ": " + cleanMessage,
+                BinaryProtocol.mafiaChat(game.getPlayerId(username), cleanMessage)));
+    }
+
+    // Genel mesajı maçın LOBBY odasına (maçta değilse ortak lobiye) gönder; faz kuralı Command.CHAT'te
+    void handleGeneralMessage(Game game, String message) {
+        if (game == null) {
+            roomHandler.broadcastToRoom(RoomHandler.LOBBY, getUsername() + ": " + message);
+            return;
+        }
+        game.broadcastToLobby(Frame.of(getUsername() + ": " + message,
+                BinaryProtocol.chat(game.getPlayerId(username), message)));
     }
 
     public Game getGame() {
@@ -1,4 +0,0 @@
-package com.bag_tos.ClientUI;
-
-public class ClientUIController {
-}
@@ -0,0 +1,232 @@
+package com.bag_tos;
+
+import com.bag_tos.metrics.Counter;
+import com.bag_tos.metrics.Metrics;
+import com.bag_tos.net.BinaryProtocol;
+import com.bag_tos.roles.Ability;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+// İstemci komutlarının tek kaydı. Her satır bir kez ayrıştırılır (regex ve dizi ayırmadan), komutun
+// hangi fazda, kimler tarafından ve hangi hızla kullanılabileceği burada bildirilir; ClientHandler yalnızca
+// kontrolleri uygulayıp execute'u maçın döngüsünde çağırır.
+public enum Command {
+    CHAT(null, States.LOBBY | States.DAY, Argument.TEXT, BinaryProtocol.C_CHAT, "gece mesaj gönderemezsin", 2, 5) {
+        @Override
+        void execute(ClientHandler handler, Game game, String argument) {
+            handler.handleGeneralMessage(game, argument);
+        }
+    },
+    MAFYA("/mafya", States.NIGHT | States.DAY, Argument.TEXT, BinaryProtocol.C_MAFIA_CHAT, null, 2, 5) {
+        @Override
+        void execute(ClientHandler handler, Game game, String argument) {
+            handler.handleMafiaCommand(game, argument);
+        }
+    },
+    READY("/ready", States.ANY, Argument.NONE, BinaryProtocol.C_READY, null, 1, 3) {
+        @Override
+        void execute(ClientHandler handler, Game game, String argument) {
+            handler.handleReady(game);
+        }
+    },
+    // Maçlar eşleştiricide dolunca başlar; eski istemciler için /ready ile aynı
+    START("/start", States.ANY, Argument.NONE, BinaryProtocol.C_START, null, 1, 3) {
+        @Override
+        void execute(ClientHandler handler, Game game, String argument) {
+            handler.handleReady(game);
+        }
+    },
+    OYLA("/oyla", States.DAY, Argument.TARGET, BinaryProtocol.C_VOTE, null, 2, 4) {
+        @Override
+        void execute(ClientHandler handler, Game game, String argument) {
+            game.handleVote(handler.getUsername(), argument);
+        }
+    },
+    OLDUR("/oldur", States.NIGHT, Argument.TARGET, BinaryProtocol.C_KILL, null, 2, 4) {
+        @Override
+        void execute(ClientHandler handler, Game game, String argument) {
+            game.handleNightAction(handler.getUsername(), argument, Ability.KILL);
+        }
+    },
+    IYILESTIR("/iyilestir", States.NIGHT, Argument.TARGET, BinaryProtocol.C_HEAL, null, 2, 4) {
+        @Override
+        void execute(ClientHandler handler, Game game, String argument) {
+            game.handleNightAction(handler.getUsername(), argument, Ability.HEAL);
+        }
+    },
+    SORGULA("/sorgula", States.NIGHT, Argument.TARGET, BinaryProtocol.C_INVESTIGATE, null, 2, 4) {
+        @Override
+        void execute(ClientHandler handler, Game game, String argument) {
+            game.handleNightAction(handler.getUsername(), argument, Ability.INVESTIGATE);
+        }
+    },
+    // Kopan oturuma dönüş: /devam <jeton> <alınan satır>
+    RESUME("/devam", States.HANDSHAKE, Argument.TEXT, BinaryProtocol.C_RESUME, null, 1, 3) {
+        @Override
+        void execute(ClientHandler handler, Game game, String argument) {
+            handler.handleResumeCommand(argument);
+        }
+    },
+    // Kullanıcı adı yerine bir maçı izleme: /izle <maç numarası>
+    WATCH("/izle", States.HANDSHAKE, Argument.TARGET, BinaryProtocol.C_WATCH, null, 1, 3) {
+        @Override
+        void execute(ClientHandler handler, Game game, String argument) {
+            handler.handleWatchCommand(argument);
+        }
+    };
+
+    // İzin verilen durumlar (bit maskesi); LOBBY = maçta değil ya da maç henüz başlamadı (game null olabilir)
+    static final class States {
+        static final int LOBBY = 1;
+        static final int NIGHT = 2;
+        static final int DAY = 4;
+        static final int ANY = LOBBY | NIGHT | DAY;
+        static final int HANDSHAKE = 8; // Yalnızca kullanıcı adından önce; ANY'ye dahil değil
+    }
+
+    enum Argument {
+        NONE,   // Argümansız
+        TEXT,   // Satırın geri kalanı
+        TARGET  // Tek kelimelik oyuncu adı (ikili modda oyuncu numarası)
+    }
+
+    private static final Command[][] BY_FIRST_CHAR = new Command[128][];
+    private static final Command[] BY_OPCODE = new Command[256];
+
+    static {
+        for (Command command : values()) {
+            BY_OPCODE[command.opcode] = command;
+            if (command.name != null) {
+                char c = command.name.charAt(1);
+                Command[] bucket = BY_FIRST_CHAR[c];
+                if (bucket == null) {
+                    BY_FIRST_CHAR[c] = new Command[]{command};
+                } else {
+                    Command[] grown = Arrays.copyOf(bucket, bucket.length + 1);
+                    grown[bucket.length] = command;
+                    BY_FIRST_CHAR[c] = grown;
+                }
+            }
+        }
+    }
+
+    private final String name;
+    private final int phases;
+    private final Argument argument;
+    private final int opcode;
+    private final String phaseError; // null ise yanlış fazda sessizce yok sayılır
+    private final int rate; // Bağlantı başına saniyede izin verilen
+    private final int burst; // Art arda izin verilen
+    private final Counter executed = Metrics.counter("commands." + name().toLowerCase(Locale.ROOT)); // Saniyelik hız kazıyıcıda farktan
+
+    Command(String name, int phases, Argument argument, int opcode, String phaseError, int rate, int burst) {
+        this.name = name;
+        this.phases = phases;
+        this.argument = argument;
+        this.opcode = opcode;
+        this.phaseError = phaseError;
+        this.rate = rate;
+        this.burst = burst;
+    }
+
+    abstract void execute(ClientHandler handler, Game game, String argument);
+
+    // '/' ile başlamayan her satır sohbettir; tanınmayan komutlar için null döner
+    public static Command parse(String line) {
+        if (line.isEmpty() || line.charAt(0) != '/') {
+            return CHAT;
+        }
+        if (line.length() < 2 || line.charAt(1) >= 128) {
+            return null;
+        }
+        Command[] candidates = BY_FIRST_CHAR[line.charAt(1)];
+        if (candidates == null) {
+            return null;
+        }
+        for (Command command : candidates) {
+            String name = command.name;
+            if (line.startsWith(name) && (line.length() == name.length() || line.charAt(name.length()) == ' ')) {
+                return command;
+            }
+        }
+        return null;
+    }
+
+    public static Command fromOpcode(int opcode) {
+        return opcode >= 0 && opcode < BY_OPCODE.length ? BY_OPCODE[opcode] : null;
+    }
+
+    // parse ile bulunan komutun argümanı; hedef ya da metin yoksa null (sohbet satırı olduğu gibi döner)
+    public String argument(String line) {
+        switch (argument) {
+            case TEXT:
+                if (name == null) {
+                    return line;
+                }
+                return line.length() > name.length() + 1 ? line.substring(name.length() + 1) : null;
+            case TARGET:
+                int start = name.length();
+                while (start < line.length() && line.charAt(start) == ' ') {
+                    start++;
+                }
+                int end = line.indexOf(' ', start);
+                if (end < 0) {
+                    end = line.length();
+                }
+                return start < end ? line.substring(start, end) : null;
+            default:
+                return null;
+        }
+    }
+
+    public Argument getArgument() {
+        return argument;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean allowedIn(Game.Phase phase) {
+        int state = phase == null ? States.LOBBY : phase == Game.Phase.NIGHT ? States.NIGHT : States.DAY;
+        return (phases & state) != 0;
+    }
+
+    // Kullanıcı adı yerine gönderilen komutlar; girişten sonra reddedilir
+    public boolean beforeLogin() {
+        return (phases & States.HANDSHAKE) != 0;
+    }
+
+    // Yalnızca rakamlardan oluşan, en çok maxDigits basamaklı sayı; değilse -1
+    static long number(String text, int maxDigits) {
+        if (text.isEmpty() || text.length() > maxDigits) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    public String getPhaseError() {
+        return phaseError;
+    }
+
+    public int getRate() {
+        return rate;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    Counter counter() {
+        return executed;
+    }
+}
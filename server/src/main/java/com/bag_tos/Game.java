@@ -1,32 +1,86 @@
 package com.bag_tos;
 
+import com.bag_tos.journal.Journal;
+import com.bag_tos.journal.JournalReplay;
+import com.bag_tos.log.Log;
+import com.bag_tos.metrics.Histogram;
+import com.bag_tos.metrics.Metrics;
+import com.bag_tos.net.BinaryProtocol;
+import com.bag_tos.net.Frame;
+import com.bag_tos.roles.Ability;
+import com.bag_tos.roles.Faction;
 import com.bag_tos.roles.Role;
+import com.bag_tos.roles.mafia.Mafya;
+import com.bag_tos.roles.naturel.Jester;
+import com.bag_tos.roles.town.Doktor;
+import com.bag_tos.roles.town.Koylu;
+import com.bag_tos.roles.town.Serif;
+import com.bag_tos.timer.HashedWheelTimer;
+import com.bag_tos.timer.Timeout;
 
 import java.util.*;
-import java.util.concurrent.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
 
 import static com.bag_tos.MessageUtils.*;
 
 public class Game {
-    private List<ClientHandler> players;
-    private Map<String, Role> roles;
-    private List<String> alivePlayers;
-    private Map<String, String> nightActions = new ConcurrentHashMap<>();
-    private Map<String, String> votes;
-
-    private ScheduledExecutorService timer = Executors.newScheduledThreadPool(1);
-    private ScheduledFuture<?> countdownTask;
-    private int remainingSeconds;
+    private final int id;
+    private final int size; // Eşleştiricinin kurduğu maç boyu
+    private final PlayerTable players;
+    private final NightResolver night = new NightResolver();
+    private final NightResolver.Outcome nightOutcome = new NightResolver.Outcome() {
+        @Override
+        public void killed(int target) {
+            if (kill(target, OLDURULDUN)) {
+                journal.death(id, target, Journal.KILLED);
+                broadcastToAlivePlayers(Frame.of(formatMessage("", "olduruldu", players.nameOf(target), currentPhase, true),
+                        BinaryProtocol.killed(target)));
+            }
+        }
+
+        @Override
+        public void investigated(int actor, int target, Faction faction) {
+            boolean suspicious = faction == Faction.MAFIA;
+            players.get(actor).sendFrame(Frame.of("SORGU: " + players.nameOf(target) + (suspicious ? " MAFYA" : " masum"),
+                    BinaryProtocol.investigation(target, suspicious)));
+        }
+    };
+    private final VoteTally votes = new VoteTally();
+    private final Journal journal = Journal.get(); // Kayıt yalnızca eşlenmiş belleğe kopyalama, döngüyü bekletmez
+    private final SpectatorFeed feed = new SpectatorFeed(ServerConfig.SPECTATOR_BUFFER, ServerConfig.SPECTATOR_DELAY_SECONDS, TimeUnit.SECONDS);
+
+    // Tüm maçlar tek bir zamanlama çarkını ve ortak bir iş havuzunu paylaşır. Süresi dolan görev yalnızca
+    // maçın kuyruğuna olay eklediği için çark thread'inde doğrudan çalıştırılır.
+    static final ExecutorService WORKERS = ServerConfig.gameWorkers();
+    static final HashedWheelTimer TIMER = new HashedWheelTimer(ServerConfig.TIMER_TICK_MS, TimeUnit.MILLISECONDS, 512, Runnable::run);
+
+    // Faz sonunun planlanan zamandan ne kadar geç işlendiği (çark tiki + kuyruk bekleme)
+    private static final Histogram PHASE_LAG = Metrics.histogram("phase.lag.us");
+
+    // Yetenek -> gece başında gönderilen komut hatırlatması
+    private static final Map<Ability, Frame> AKSIYONLAR = new EnumMap<>(Map.of(
+            Ability.KILL, Frame.of("AKSIYON: /oldur <oyuncu>", BinaryProtocol.actionPrompt(BinaryProtocol.C_KILL)),
+            Ability.HEAL, Frame.of("AKSIYON: /iyilestir <oyuncu>", BinaryProtocol.actionPrompt(BinaryProtocol.C_HEAL)),
+            Ability.INVESTIGATE, Frame.of("AKSIYON: /sorgula <oyuncu>", BinaryProtocol.actionPrompt(BinaryProtocol.C_INVESTIGATE))));
+
+    // Maç durumu yalnızca bu döngüde değişir; oyuncu komutları ve faz sonları submit ile gelir
+    private final GameLoop loop = new GameLoop(WORKERS);
+
+    private Timeout phaseTimeout;
+    private int phaseSeq; // İptal edilemeden kuyruğa düşmüş eski faz sonlarını ayırt etmek için
+    private long phaseDeadline; // Faz bitişi, epoch milisaniye
     private Phase currentPhase;
     private RoomHandler roomHandler;
+    private boolean started = false;
+    private volatile boolean ended = false;
 
-    public Game(List<ClientHandler> players) {
-        this.players = players;
-        this.roles = new HashMap<>();
-        this.alivePlayers = new ArrayList<>();
-        this.nightActions = new HashMap<>();
-        this.votes = new HashMap<>();
-        this.timer = Executors.newScheduledThreadPool(1);
+    public Game(int id, int size) {
+        this.id = id;
+        this.size = size;
+        this.players = new PlayerTable(size);
         //this.roomHandler = new RoomHandler();
         //initializeGame();
     }
@@ -39,8 +93,57 @@ public class Game {
         return roomHandler;
     }
 
-    public Object getRole(String username) {
-        return roles.get(username);
+    public int getId() {
+        return id;
+    }
+
+    // Oda adları maç numarasıyla ayrılır, böylece aynı anda çalışan maçlar birbirini duymaz
+    public String getLobbyRoom() {
+        return "LOBBY-" + id;
+    }
+
+    public String getMafiaRoom() {
+        return "MAFYA-" + id;
+    }
+
+    public void submit(Runnable event) {
+        loop.execute(event);
+    }
+
+    public boolean isEnded() {
+        return ended;
+    }
+
+    SpectatorFeed feed() {
+        return feed;
+    }
+
+    // Lobi odasına giden her şey herkese açıktır, izleyici akışına da yazılır; maç döngüsünde çağrılır
+    void broadcastToLobby(Frame frame) {
+        roomHandler.broadcastToRoom(getLobbyRoom(), frame);
+        feed.publish(frame);
+    }
+
+    // İkili protokoldeki oyuncu numarası: maç içindeki sıra
+    public int getPlayerId(String username) {
+        return players.idOf(username);
+    }
+
+    public String getPlayerName(int playerId) {
+        return players.nameOf(playerId);
+    }
+
+    public boolean isStarted() {
+        return started;
+    }
+
+    void markStarted() {
+        started = true;
+    }
+
+    public Role getRole(String username) {
+        int playerId = players.idOf(username);
+        return playerId < 0 ? null : players.role(playerId);
     }
 
     public enum Phase {
@@ -64,113 +167,181 @@ public class Game {
 //                    roomHandler.addToRoom("LOBBY", p);
 //                });
 
-        players.stream()
-                .filter(p -> roles.get(p.getUsername()) instanceof Mafya)
-                .forEach(p -> roomHandler.addToRoom("MAFYA", p));
+        for (int i = 0; i < players.size(); i++) {
+            if (isMafia(i)) {
+                roomHandler.addToRoom(getMafiaRoom(), players.get(i));
+            }
+        }
         startNightPhase();
     }
 
     public void initializeGame() {
-        for (ClientHandler player : players) {
-            alivePlayers.add(player.getUsername());
-        }
-        assignRoles();
+        assignRoles(ThreadLocalRandom.current());
+        resetRoster();
     }
 
-    public void assignRoles() {
-        List<Role> rolePool = new ArrayList<>();
-        int playerCount = players.size();
-
-        // Rol dağılımı (Town of Salem formatı)
-        rolePool.add(new Mafya()); // Godfather
-        //rolePool.add(new Framer());
-        rolePool.add(new Serif());
-        rolePool.add(new Doktor());
-        rolePool.add(new Jester());
-
-        // Oyuncu sayısına göre rollerin dengelenmesi
-        if (playerCount > 5) {
-            //rolePool.add(new Bodyguard());
-            //rolePool.add(new Executioner());
-        }
+    // Roller atandıktan sonra herkes canlanır, gece hedefleri temizlenir
+    void resetRoster() {
+        players.reviveAll();
+        night.reset(players.size());
+    }
 
-        Collections.shuffle(rolePool);
+    // Simülatör aynı dağıtımı tohumlu üreteçle yapar
+    public void assignRoles(RandomGenerator random) {
+        List<Role> rolePool = rolePool(players.size());
+        Collections.shuffle(rolePool, random);
 
         // Oyunculara rollerin atanması
         for (int i = 0; i < players.size(); i++) {
-            String username = players.get(i).getUsername();
+            String username = players.nameOf(i);
             Role role = rolePool.get(i);
-            roles.put(username, role);
-            System.out.println(YESIL + "[DEBUG] Rol Atama: " + username + " -> " + role.getName() + RESET);
+            players.setRole(i, role);
+            journal.roleAssigned(id, i, role.getName());
+            Log.debug("Oyun #{} rol atama: {} -> {}", id, username, role.getName());
+        }
+    }
+    // Rol dağılımı (Town of Salem formatı): her dört oyuncuya bir mafya, birer Serif ve Doktor,
+    // dört kişiden itibaren bir Jester; kalan koltuklar Koylu
+    static List<Role> rolePool(int playerCount) {
+        List<Role> rolePool = new ArrayList<>(playerCount);
+        for (int i = Math.max(1, playerCount / 4); i > 0; i--) {
+            rolePool.add(new Mafya()); // Godfather
+        }
+        //rolePool.add(new Framer());
+        rolePool.add(new Serif());
+        rolePool.add(new Doktor());
+        if (playerCount >= 4) {
+            rolePool.add(new Jester());
+        }
+        //rolePool.add(new Bodyguard());
+        //rolePool.add(new Executioner());
+        while (rolePool.size() < playerCount) {
+            rolePool.add(new Koylu());
         }
+        return rolePool;
     }
+
     private void startNightPhase() {
         currentPhase = Phase.NIGHT;
-        remainingSeconds = 30;
-        for (ClientHandler player : players) {
-            //roomHandler.removeFromRoom("LOBBY", player);
-//            if (isMafia(player)) {
-//                // Mafya üyelerini MAFYA odasına ekle (zaten ekliyse tekrar ekleme)
-//                roomHandler.addToRoom("MAFYA", player);
-//            }
-        }
-        broadcastToAlivePlayers(formatMessage("Gece başladı!", currentPhase, true));
-        startCountdown();
+        broadcastToAlivePlayers(nightBanner());
         scheduleNightActions();
-        nightActions.clear();
-
-        for (ClientHandler player : players) {
-            String username = player.getUsername();
-            Role role = roles.get(username);
-            if (role instanceof Mafya) {
-                player.sendMessage("AKSIYON: /oldur <oyuncu>");
-            } else if (role instanceof Doktor) {
-                player.sendMessage("AKSIYON: /iyilestir <oyuncu>");
+        journal.phase(id, 0, phaseDeadline);
+        broadcastToAlivePlayers(deadlineMessage());
+        night.reset(players.size());
+        sendActionPrompts();
+    }
+
+    private void sendActionPrompts() {
+        for (int i = players.nextAlive(0); i >= 0; i = players.nextAlive(i + 1)) {
+            Frame aksiyon = AKSIYONLAR.get(players.role(i).getAbility());
+            if (aksiyon != null) {
+                players.get(i).sendFrame(aksiyon);
             }
         }
     }
 
-    private boolean isMafia(ClientHandler player) {
-        return roles.get(player.getUsername()) instanceof Mafya;
+    // Günlükteki rol adından; adlar getName() ile aynı
+    static Role roleNamed(String name) {
+        return switch (name) {
+            case "Mafya" -> new Mafya();
+            case "Serif" -> new Serif();
+            case "Doktor" -> new Doktor();
+            case "Jester" -> new Jester();
+            case "Koylu" -> new Koylu();
+            default -> throw new IllegalArgumentException("Bilinmeyen rol: " + name);
+        };
     }
 
-    private void processNightActions() {
-        String mafyaHedef = null;
-        String doktorHedef = null;
-        System.out.println("Gece aksiyonları işleniyor...");
-        System.out.println("NightActions Map: " + nightActions.toString());
-
-        for (Map.Entry<String, String> entry : nightActions.entrySet()) {
-            String oyuncu = entry.getKey();
-            String hedef = entry.getValue();
-            Role role = roles.get(oyuncu);
+    // Çöken açılıştan kalan maç günlükteki durumuyla kurulur: roller, canlılar, o fazın gece hedefleri ya da
+    // oyları (geliş sırasıyla). Durum bu maçın numarasıyla yeniden yazılır, böylece ikinci bir çökme de
+    // kurtarılır. Faz süresi baştan başlar; oyuncular bağlantısızdır ve /devam ile döner.
+    void restore(JournalReplay.ReplayedGame saved, List<ClientHandler> handlers) {
+        submit(() -> {
+            BitSet alive = saved.getAlive();
+            List<int[]> voteLog = saved.getPhase() == 1 ? saved.getVoteLog() : List.of();
+            BitSet leftToday = new BitSet(); // Gündüz ayrılanlar oy sırasında yazılır
+            voteLog.stream().filter(v -> v[1] < 0).forEach(v -> leftToday.set(v[0]));
+
+            for (ClientHandler player : handlers) {
+                int playerId = players.add(player);
+                journal.playerJoined(id, playerId, player.getUsername());
+                Session session = player.session();
+                journal.session(id, playerId, session.isBinary(), session.token());
+                roomHandler.addToRoom(getLobbyRoom(), player);
+            }
+            for (int i = 0; i < players.size(); i++) {
+                Role role = roleNamed(saved.getRoles().get(i));
+                players.setRole(i, role);
+                journal.roleAssigned(id, i, role.getName());
+            }
+            resetRoster();
+            for (int i = 0; i < players.size(); i++) {
+                if (isMafia(i)) {
+                    roomHandler.addToRoom(getMafiaRoom(), players.get(i));
+                }
+                if (!alive.get(i) && !leftToday.get(i)) {
+                    players.kill(i);
+                    players.get(i).setAlive(false);
+                    journal.death(id, i, saved.getLeft().get(i) ? Journal.LEFT : Journal.KILLED);
+                }
+            }
 
-            if (role instanceof Mafya) {
-                mafyaHedef = hedef;
-            } else if (role instanceof Doktor) {
-                doktorHedef = hedef;
+            Frame notice = Frame.of("SISTEM: Sunucu yeniden başlatıldı, maç kaldığı yerden sürüyor.");
+            broadcastToLobby(notice);
+            if (saved.getPhase() == 0) {
+                currentPhase = Phase.NIGHT;
+                scheduleNightActions();
+                journal.phase(id, 0, phaseDeadline);
+                saved.getNightActions().forEach((actor, target) -> {
+                    if (players.isAlive(actor) && players.isAlive(target)) {
+                        night.submit(actor, players.role(actor), target);
+                        journal.nightAction(id, actor, target);
+                    }
+                });
+                broadcastToAlivePlayers(nightBanner());
+                broadcastToAlivePlayers(deadlineMessage());
+                sendActionPrompts();
+            } else {
+                currentPhase = Phase.DAY;
+                votes.reset(players.size());
+                scheduleDayActions();
+                journal.phase(id, 1, phaseDeadline);
+                for (int[] vote : voteLog) {
+                    if (vote[1] < 0) {
+                        players.kill(vote[0]);
+                        players.get(vote[0]).setAlive(false);
+                        votes.withdraw(vote[0]);
+                        journal.death(id, vote[0], Journal.LEFT);
+                    } else {
+                        votes.cast(vote[0], vote[1]);
+                        journal.vote(id, vote[0], vote[1]);
+                    }
+                }
+                broadcastToAlivePlayers(dayBanner());
+                broadcastToAlivePlayers(deadlineMessage());
+                // Çökme çoğunluk oyuyla günün bitmesi arasına denk geldiyse
+                if (votes.hasMajority(players.aliveCount())) {
+                    phaseTimeout.cancel();
+                    endDay();
+                }
             }
-        }
+            Log.info("Oyun #{} günlükten kuruldu ({}): {} canlı", id, saved.getKey(), players.aliveCount());
+        });
+    }
 
-        if (mafyaHedef != null && !mafyaHedef.equals(doktorHedef)) {
-            alivePlayers.remove(mafyaHedef);
-            String finalMafyaHedef = mafyaHedef;
-            players.stream()
-                    .filter(p -> p.getUsername().equals(finalMafyaHedef))
-                    .forEach(p -> {
-                        p.setAlive(false);
-                        p.sendMessage(olduruldunMessage());
-                    });
-            //System.out.println("[DEBUG] Mafya hedefi: " + mafyaHedef);
-            //System.out.println("[DEBUG] Doktor hedefi: " + doktorHedef);
-            broadcastToAlivePlayers(formatMessage("", "olduruldu", mafyaHedef, currentPhase, true));
-        }
+    private boolean isMafia(int playerId) {
+        return players.role(playerId).getFaction() == Faction.MAFIA;
+    }
+
+    // Gönderilen aksiyonlar öncelik sırasıyla tek geçişte çözülür (NightResolver)
+    void processNightActions() {
+        Log.debug("Oyun #{} gece aksiyonu: {}", id, night.size());
+        night.resolve(players, nightOutcome);
         checkWinConditions();
     }
 
     private void startDayPhase() {
         currentPhase = Phase.DAY;
-        remainingSeconds = 30;
 //        players.stream()
 //                //.filter(p -> !(roles.get(p.getUsername()) instanceof Mafya))
 //                .forEach(p -> {
@@ -182,144 +353,263 @@ public class Game {
 //                .filter(p -> roles.get(p.getUsername()) instanceof Mafya)
 //                .forEach(p -> roomHandler.addToRoom("MAFYA", p));
 
-        broadcastToAlivePlayers(formatMessage("Gündüz başladı!", "saniye kaldı.", String.valueOf(remainingSeconds), currentPhase, true));
-        startCountdown();
+        votes.reset(players.size());
+        broadcastToAlivePlayers(dayBanner());
         scheduleDayActions();
-        votes.clear();
+        journal.phase(id, 1, phaseDeadline);
+        broadcastToAlivePlayers(deadlineMessage());
 
     }
 
-    private void processVotes() {
-        Map<String, Integer> oySayilari = new HashMap<>();
-        for (String hedef : votes.values()) {
-            oySayilari.put(hedef, oySayilari.getOrDefault(hedef, 0) + 1);
-        }
-
-        String asilan = null;
-        int maxOy = 0;
-        for (Map.Entry<String, Integer> entry : oySayilari.entrySet()) {
-            if (entry.getValue() > maxOy) {
-                maxOy = entry.getValue();
-                asilan = entry.getKey();
+    void processVotes() {
+        // Oylar geldikçe sayıldığı için önde giden hazır
+        int asilan = votes.leader();
+
+        if (asilan >= 0 && kill(asilan, ASILDIN)) {
+            journal.death(id, asilan, Journal.HANGED);
+            broadcastToAlivePlayers(Frame.of(formatMessage("", "asildi!", players.nameOf(asilan), currentPhase, true),
+                    BinaryProtocol.hanged(asilan)));
+            Role role = players.role(asilan);
+            if (role.winsWhenHanged()) {
+                endGame(role.getName());
+                return;
             }
         }
 
-        if (asilan != null) {
-            alivePlayers.remove(asilan);
-            String finalAsilan = asilan;
-            players.stream()
-                    .filter(p -> p.getUsername().equals(finalAsilan))
-                    .forEach(p -> {
-                        p.setAlive(false);
-                        p.sendMessage(asilmaMessage());
-                    });
-            broadcastToAlivePlayers(formatMessage("", "asildi!", asilan, currentPhase, true));
-
-        }
-
         checkWinConditions();
     }
 
     private void checkWinConditions() {
-        int mafyaCount = 0;
-        int othersCount = 0;
-
-        for (String username : alivePlayers) {
-            Role role = roles.get(username);
-            if (role instanceof Mafya) {
-                mafyaCount++;
-            } else {
-                othersCount++;
-            }
+        Faction kazanan = winner(players);
+        if (kazanan == Faction.TOWN) {
+            endGame("Köylü");
+        } else if (kazanan == Faction.MAFIA) {
+            endGame("Mafya");
         }
+    }
+
+    // Mafya kalmadıysa kasaba, mafya diğerlerinden az değilse mafya kazanır; maç sürüyorsa null
+    static Faction winner(PlayerTable players) {
+        int mafyaCount = players.aliveIn(Faction.MAFIA);
+        int othersCount = players.aliveCount() - mafyaCount;
 
         if (mafyaCount == 0) {
-            endGame("Köylü");
+            return Faction.TOWN;
         } else if (mafyaCount >= othersCount) {
-            endGame("Mafya");
+            return Faction.MAFIA;
         }
+        return null;
     }
 
     private void endGame(String kazanan) {
-        timer.shutdownNow(); // Tüm zamanlayıcı görevlerini durdur
+        ended = true;
+        journal.gameOver(id, kazanan);
+        if (phaseTimeout != null) {
+            phaseTimeout.cancel(); // Bekleyen faz geçişini durdur
+        }
 
-        String kazananMesaj;
+        Frame kazananMesaj;
         if (kazanan.equalsIgnoreCase("Mafya")) {
-            kazananMesaj = BG_KIRMIZI + BOLD + "\n=== OYUN BİTTİ ===\nMAFYA KAZANDI!\n" + RESET;
+            kazananMesaj = MAFYA_KAZANDI;
         } else if (kazanan.equalsIgnoreCase("Köylü")) {
-            kazananMesaj = BG_YESIL + BOLD + "\n=== OYUN BİTTİ ===\nKÖYLÜLER KAZANDI!\n" + RESET;
+            kazananMesaj = KOYLU_KAZANDI;
         } else {
-            kazananMesaj = BG_BEYAZ + BOLD + "\n=== OYUN BİTTİ ===\n" + kazanan.toUpperCase() + " kazandı!\n" + RESET;
+            kazananMesaj = Frame.of(BG_BEYAZ + BOLD + "\n=== OYUN BİTTİ ===\n" + kazanan.toUpperCase() + " kazandı!\n" + RESET,
+                    BinaryProtocol.gameOver(kazanan));
         }
 
-        players.forEach(p -> p.sendMessage(kazananMesaj));
+        for (int i = 0; i < players.size(); i++) {
+            players.get(i).sendFrame(kazananMesaj);
+        }
+        feed.publish(kazananMesaj);
+        feed.close();
+        roomHandler.removeGame(this);
     }
 
 
 
     private void broadcastToAlivePlayers(String message) {
-        players.stream()
-                .filter(ClientHandler::isAlive)
-                .forEach(p -> p.sendMessage(message));
-    }
-
-    public void handleAction(String oyuncu, String komut) {
-        //System.out.println("[DEBUG] HandleAction: " + oyuncu + " -> " + komut);
-        if (komut.startsWith("/oldur ")) {
-            String[] parcalar = komut.split(" ", 2); // Boşluğa göre böl
-            if (parcalar.length >= 2) {
-                String hedef = parcalar[1];
-                nightActions.put(oyuncu, hedef);
-                System.out.println("[DEBUG] Mafya hedefi eklendi: " + oyuncu + " -> " + hedef);
-            }
-        } else if (komut.startsWith("/iyilestir ")) {
-            String[] parcalar = komut.split(" ", 2); // Boşluğa göre böl
-            if (parcalar.length >= 2) {
-                String hedef = parcalar[1];
-                nightActions.put(oyuncu, hedef);
-                System.out.println("[DEBUG] Doktor hedefi eklendi: " + oyuncu + " -> " + hedef);
-            }
+        broadcastToAlivePlayers(Frame.of(message));
+    }
+
+    private void broadcastToAlivePlayers(Frame frame) {
+        long start = System.nanoTime();
+        for (int i = players.nextAlive(0); i >= 0; i = players.nextAlive(i + 1)) {
+            players.get(i).sendFrame(frame);
         }
+        feed.publish(frame);
+        RoomHandler.FANOUT.recordNanos(start);
+    }
+
+    // Oyuncu zaten ölüyse false döner
+    private boolean kill(int playerId, Frame message) {
+        if (!players.kill(playerId)) {
+            return false;
+        }
+        votes.withdraw(playerId);
+        ClientHandler player = players.get(playerId);
+        player.setAlive(false);
+        player.sendFrame(message);
+        return true;
+    }
+
+    // Komutun yeteneği oyuncunun rolününkiyle aynı olmalı; öncelik ve taraf rolden gelir
+    public void handleNightAction(String oyuncu, String hedef, Ability ability) {
+        int oyuncuId = players.idOf(oyuncu);
+        if (oyuncuId < 0) {
+            return;
+        }
+        Role role = players.role(oyuncuId);
+        if (role.getAbility() != ability) {
+            players.get(oyuncuId).sendMessage(formatError("Rolünüzün bu yeteneği yok."));
+            return;
+        }
+        int hedefId = resolveTarget(oyuncuId, hedef);
+        if (hedefId < 0) {
+            return;
+        }
+        night.submit(oyuncuId, role, hedefId);
+        journal.nightAction(id, oyuncuId, hedefId);
+        Log.debug("{} hedefi eklendi: {} -> {}", role.getName(), oyuncu, hedef);
     }
 
     public void handleVote (String oyuncu, String hedef){
-        votes.put(oyuncu, hedef);
-        System.out.println("[DEBUG] Oy verildi: " + oyuncu + " -> " + hedef);
+        int oyuncuId = players.idOf(oyuncu);
+        int hedefId = resolveTarget(oyuncuId, hedef);
+        if (hedefId < 0) {
+            return;
+        }
+        // Simülatördeki oyuncular gibi kimse kendini asmak için oy veremez (Jester'ın kolay zaferi)
+        if (hedefId == oyuncuId) {
+            players.get(oyuncuId).sendMessage(formatError("Kendinize oy veremezsiniz."));
+            return;
+        }
+        if (votes.cast(oyuncuId, hedefId) == hedefId) {
+            return; // Aynı oy tekrarlandı
+        }
+        journal.vote(id, oyuncuId, hedefId);
+        Log.debug("Oy verildi: {} -> {}", oyuncu, hedef);
+
+        int gereken = players.aliveCount() / 2 + 1;
+        broadcastToAlivePlayers(Frame.of(
+                formatMessage("OY: " + oyuncu + " ->", "(" + votes.count(hedefId) + "/" + gereken + ")", hedef, currentPhase, false),
+                BinaryProtocol.vote(oyuncuId, hedefId, votes.count(hedefId))));
+
+        // Salt çoğunluk sağlandıysa gün beklemeden biter
+        if (votes.hasMajority(players.aliveCount())) {
+            phaseTimeout.cancel();
+            endDay();
+        }
     }
 
-    private void startCountdown() {
-        // Önceki geri sayımı iptal et
-        if (countdownTask != null && !countdownTask.isDone()) {
-            countdownTask.cancel(true);
+    // Hedef bu maçta canlı bir oyuncu değilse komutu verene hata gönderilir
+    private int resolveTarget(int oyuncuId, String hedef) {
+        if (oyuncuId < 0 || !players.isAlive(oyuncuId)) {
+            return -1;
         }
+        int hedefId = players.idOf(hedef);
+        if (hedefId < 0 || !players.isAlive(hedefId)) {
+            players.get(oyuncuId).sendMessage(formatError("Böyle canlı bir oyuncu yok: " + hedef));
+            return -1;
+        }
+        return hedefId;
+    }
 
-        // Yeni geri sayımı başlat
-        countdownTask = timer.scheduleAtFixedRate(() -> {
-            remainingSeconds--;
-            System.out.print("\rKalan süre: " + remainingSeconds + " saniye"); // Aynı satırda güncelle
+    // Sunucu saniye saniye geri saymaz; istemciler faz bitişini mutlak zaman olarak alır
+    private Frame deadlineMessage() {
+        return Frame.of("FAZ_BITIS:" + phaseDeadline, BinaryProtocol.deadline(phaseDeadline));
+    }
 
-            if (remainingSeconds <= 0) {
-                System.out.println(); // Yeni satıra geç
-                countdownTask.cancel(true);
+    private void schedulePhaseEnd(Runnable action) {
+        int seq = ++phaseSeq;
+        phaseDeadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(ServerConfig.PHASE_SECONDS);
+        long due = System.nanoTime() + TimeUnit.SECONDS.toNanos(ServerConfig.PHASE_SECONDS);
+        phaseTimeout = TIMER.schedule(() -> submit(() -> {
+            if (seq == phaseSeq && !ended) {
+                PHASE_LAG.recordNanos(due);
+                action.run();
             }
-        }, 1, 1, TimeUnit.SECONDS); // 1 saniye gecikme, 1 saniye aralık
+        }), ServerConfig.PHASE_SECONDS, TimeUnit.SECONDS);
     }
 
     private void scheduleNightActions() {
-        timer.schedule(() -> {
+        schedulePhaseEnd(() -> {
             processNightActions();
-            startDayPhase();
-        }, 30, TimeUnit.SECONDS);
+            if (!ended) {
+                startDayPhase();
+            }
+        });
     }
 
     private void scheduleDayActions() {
-        timer.schedule(() -> {
-            processVotes();
+        schedulePhaseEnd(this::endDay);
+    }
+
+    private void endDay() {
+        processVotes();
+        if (!ended) {
             startNightPhase();
-        }, 30, TimeUnit.SECONDS);
+        }
     }
 
+    // Benchmark modülü aynı pakettedir; faz işlemeyi zamanlayıcı ve döngü olmadan doğrudan kurar
+    PlayerTable players() {
+        return players;
+    }
+
+    VoteTally votes() {
+        return votes;
+    }
+
+    NightResolver night() {
+        return night;
+    }
+
+    void setCurrentPhase(Phase phase) {
+        currentPhase = phase;
+    }
+
+    // Tabloya ekleme döngüde yapılır; eşleştirici oyuncuları başlatmadan önce ekler
     public void addPlayer(ClientHandler player){
-        players.add(player);
+        submit(() -> {
+            int playerId = players.add(player);
+            journal.playerJoined(id, playerId, player.getUsername());
+            Session session = player.session();
+            if (session != null) {
+                journal.session(id, playerId, session.isBinary(), session.token());
+            }
+            roomHandler.addToRoom(getLobbyRoom(), player);
+            broadcastToLobby(Frame.of(
+                    "SISTEM: " + player.getUsername() + " lobiye katildi! (" + players.size() + "/" + size + ")",
+                    BinaryProtocol.playerJoined(playerId, player.getUsername())));
+        });
+    }
+
+    // Bağlantısı kopan oyuncu lobideyse koltuğu boşaltılır, oyun sürüyorsa ölmüş sayılır
+    public void removePlayer(ClientHandler player) {
+        submit(() -> {
+            int playerId = players.idOf(player.getUsername());
+            if (playerId < 0 || ended) {
+                return;
+            }
+            if (currentPhase == null) {
+                players.remove(playerId);
+                journal.playerLeft(id, playerId);
+                broadcastToLobby(Frame.of(
+                        "SISTEM: " + player.getUsername() + " lobiden ayrildi (" + players.size() + "/" + size + ")",
+                        BinaryProtocol.playerLeft(playerId)));
+            } else if (players.kill(playerId)) {
+                votes.withdraw(playerId); // Ölü oyuncunun oyu çoğunluğa sayılmaz, asılamaz
+                journal.death(id, playerId, Journal.LEFT);
+                broadcastToAlivePlayers(Frame.of("SISTEM: " + player.getUsername() + " oyundan ayrildi",
+                        BinaryProtocol.killed(playerId)));
+                checkWinConditions();
+                // Canlı sayısı azaldı; kalan oylar artık çoğunluk olabilir
+                if (!ended && currentPhase == Phase.DAY && votes.hasMajority(players.aliveCount())) {
+                    phaseTimeout.cancel();
+                    endDay();
+                }
+            }
+        });
     }
 }
@@ -0,0 +1,49 @@
+package com.bag_tos;
+
+import com.bag_tos.log.Log;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Bir maçın tek yazıcılı olay döngüsü. Oyuncu komutları ve zamanlayıcı olayları kilitsiz, çok üreticili
+// bir kuyruğa eklenir; kuyruk ortak iş havuzunda aynı anda en fazla bir thread tarafından boşaltılır.
+// Böylece maç durumu kilitsiz ve yarışsız kalır, yüzlerce maç birkaç thread'i paylaşır.
+final class GameLoop implements Executor {
+    private static final int BATCH = 64; // Tek maçın havuzu tekeline almaması için tur başına üst sınır
+
+    private final Queue<Runnable> mailbox = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final Executor workers;
+
+    GameLoop(Executor workers) {
+        this.workers = workers;
+    }
+
+    @Override
+    public void execute(Runnable event) {
+        mailbox.add(event);
+        if (scheduled.compareAndSet(false, true)) {
+            workers.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        Runnable event;
+        int processed = 0;
+        while (processed < BATCH && (event = mailbox.poll()) != null) {
+            try {
+                event.run();
+            } catch (RuntimeException e) {
+                Log.error("Maç olayı işlenemedi", e);
+            }
+            processed++;
+        }
+        scheduled.set(false);
+        // Boşaltma bitip bayrak inerken eklenen olay kaybolmasın
+        if (!mailbox.isEmpty() && scheduled.compareAndSet(false, true)) {
+            workers.execute(this::drain);
+        }
+    }
+}
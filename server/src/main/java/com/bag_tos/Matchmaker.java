@@ -0,0 +1,75 @@
+package com.bag_tos;
+
+import com.bag_tos.metrics.Counter;
+import com.bag_tos.metrics.Histogram;
+import com.bag_tos.metrics.Metrics;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+// /ready diyen oyuncuların geliş sırasıyla beklediği kuyruk. Kuyrukta maç boyu kadar oyuncu biriktikçe
+// en eski bekleyenlerden bir maç kurulur; maç kurma kilidin dışında yapılır, böylece aynı anda
+// gelen oyuncular birbirini beklemeden ayrı maçlara dağılır.
+final class Matchmaker {
+    private static final Histogram WAIT = Metrics.histogram("matchmaking.wait.us");
+    private static final Counter MATCHES = Metrics.counter("matchmaking.games");
+
+    private final Map<ClientHandler, Long> queue = new LinkedHashMap<>(); // Oyuncu -> kuyruğa giriş, nanoTime
+    private final int gameSize;
+    private final Consumer<List<ClientHandler>> onMatch;
+
+    Matchmaker(int gameSize, Consumer<List<ClientHandler>> onMatch) {
+        if (gameSize < 3) {
+            throw new IllegalArgumentException("Maç en az 3 kişilik olmalı: " + gameSize);
+        }
+        this.gameSize = gameSize;
+        this.onMatch = onMatch;
+        Metrics.gauge("matchmaking.queued", this::size);
+    }
+
+    int gameSize() {
+        return gameSize;
+    }
+
+    // Oyuncunun kuyruktaki sırası (1'den başlar); zaten kuyruktaysa ya da maça alındıysa 0
+    int enqueue(ClientHandler player) {
+        List<List<ClientHandler>> matches = new ArrayList<>();
+        int position;
+        synchronized (this) {
+            if (queue.putIfAbsent(player, System.nanoTime()) != null) {
+                return 0;
+            }
+            position = queue.size();
+            while (queue.size() >= gameSize) {
+                matches.add(take());
+            }
+        }
+        matches.forEach(onMatch);
+        return matches.isEmpty() ? position : 0;
+    }
+
+    synchronized boolean remove(ClientHandler player) {
+        return queue.remove(player) != null;
+    }
+
+    synchronized int size() {
+        return queue.size();
+    }
+
+    private List<ClientHandler> take() {
+        List<ClientHandler> players = new ArrayList<>(gameSize);
+        Iterator<Map.Entry<ClientHandler, Long>> it = queue.entrySet().iterator();
+        while (players.size() < gameSize) {
+            Map.Entry<ClientHandler, Long> entry = it.next();
+            WAIT.recordNanos(entry.getValue());
+            players.add(entry.getKey());
+            it.remove();
+        }
+        MATCHES.increment();
+        return players;
+    }
+}
@@ -1,5 +1,9 @@
 package com.bag_tos;
 
+import com.bag_tos.log.Log;
+import com.bag_tos.net.BinaryProtocol;
+import com.bag_tos.net.Frame;
+
 public class MessageUtils {
     // Sıfırlama
     public static final String RESET = "\033[0m";
@@ -37,8 +41,40 @@ public class MessageUtils {
     // Debug Modu Kontrolü
     private static boolean debugMode = false;
 
+    // Günlük seviyesini de belirler: açıkken debug kayıtları yazılır
     public static void setDebugMode(boolean enabled) {
         debugMode = enabled;
+        Log.setLevel(enabled ? Log.Level.DEBUG : Log.Level.INFO);
+        refreshBanners();
+    }
+
+    // Sabit duyurular bir kez biçimlendirilip kodlanır; yayın yolunda yalnızca hazır Frame yazılır
+    private static volatile Frame nightBanner;
+    private static volatile Frame dayBanner;
+    public static final Frame MAFYA_KAZANDI = Frame.of(BG_KIRMIZI + BOLD + "\n=== OYUN BİTTİ ===\nMAFYA KAZANDI!\n" + RESET,
+            BinaryProtocol.gameOver("Mafya"));
+    public static final Frame KOYLU_KAZANDI = Frame.of(BG_YESIL + BOLD + "\n=== OYUN BİTTİ ===\nKÖYLÜLER KAZANDI!\n" + RESET,
+            BinaryProtocol.gameOver("Köylü"));
+    public static final Frame ASILDIN = Frame.of(asilmaMessage());
+    public static final Frame OLDURULDUN = Frame.of(olduruldunMessage());
+
+    static {
+        refreshBanners();
+    }
+
+    // Banner'lar debugMode'a bağlı olduğu için mod değişince yeniden oluşturulur
+    private static void refreshBanners() {
+        nightBanner = Frame.of(formatMessage("Gece başladı!", Game.Phase.NIGHT, true), BinaryProtocol.phase(0));
+        dayBanner = Frame.of(formatMessage("Gündüz başladı!", "saniye kaldı.", String.valueOf(ServerConfig.PHASE_SECONDS), Game.Phase.DAY, true),
+                BinaryProtocol.phase(1));
+    }
+
+    public static Frame nightBanner() {
+        return nightBanner;
+    }
+
+    public static Frame dayBanner() {
+        return dayBanner;
     }
 
     // Renkli Mesaj Oluşturma
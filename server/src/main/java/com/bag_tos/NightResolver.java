@@ -0,0 +1,128 @@
+package com.bag_tos;
+
+import com.bag_tos.roles.Ability;
+import com.bag_tos.roles.Faction;
+import com.bag_tos.roles.Role;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+// Gece aksiyonlarının çözümü. Her aksiyon (öncelik, taraf, yetenek, oyuncu, hedef) tek bir long'a paketlenir;
+// gece sonunda yalnızca gönderilen aksiyonlar bir kez sıralanır ve aynı öncelik/taraf/yetenek grupları sırayla
+// tek geçişte çözülür. Oyuncu hedefini değiştirirse yeni aksiyon eskisinin yerine yazılır.
+final class NightResolver {
+    // Paket: öncelik(8) | taraf(4) | yetenek(4) | oyuncu(20) | hedef(20)
+    private static final int TARGET_BITS = 20;
+    private static final int ACTOR_SHIFT = TARGET_BITS;
+    private static final int GROUP_SHIFT = 2 * TARGET_BITS;
+    private static final long PLAYER_MASK = (1L << TARGET_BITS) - 1;
+    private static final Ability[] ABILITIES = Ability.values();
+
+    // Çözüm sonuçları maça geri bildirilir
+    interface Outcome {
+        void killed(int target);
+
+        void investigated(int actor, int target, Faction faction);
+    }
+
+    private long[] actions = new long[0];
+    private int[] slots = new int[0]; // Oyuncu -> actions içindeki yeri (-1: yok)
+    private int[] votes = new int[0]; // Öldürme grubunda hedef başına oy
+    private final BitSet healed = new BitSet();
+    private int count;
+
+    // Her gece başında; oyuncu sayısı değişirse diziler büyür
+    void reset(int players) {
+        if (slots.length < players) {
+            actions = new long[players];
+            slots = new int[players];
+            votes = new int[players];
+        }
+        Arrays.fill(slots, -1);
+        count = 0;
+    }
+
+    void submit(int actor, Role role, int target) {
+        long group = (long) role.getPriority() << 8 | role.getFaction().ordinal() << 4 | role.getAbility().ordinal();
+        long action = group << GROUP_SHIFT | (long) actor << ACTOR_SHIFT | target;
+        int slot = slots[actor];
+        if (slot < 0) {
+            slot = count++;
+            slots[actor] = slot;
+        }
+        actions[slot] = action;
+    }
+
+    int size() {
+        return count;
+    }
+
+    void resolve(PlayerTable players, Outcome outcome) {
+        Arrays.sort(actions, 0, count);
+        healed.clear();
+        int start = 0;
+        while (start < count) {
+            long group = actions[start] >>> GROUP_SHIFT;
+            int end = start + 1;
+            while (end < count && actions[end] >>> GROUP_SHIFT == group) {
+                end++;
+            }
+            Ability ability = ABILITIES[(int) (group & 0xF)];
+            switch (ability) {
+                case HEAL -> heal(players, start, end);
+                case KILL -> kill(players, start, end, outcome);
+                case INVESTIGATE -> investigate(players, start, end, outcome);
+                default -> {
+                }
+            }
+            start = end;
+        }
+    }
+
+    private void heal(PlayerTable players, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (players.isAlive(actor(actions[i]))) {
+                healed.set(target(actions[i]));
+            }
+        }
+    }
+
+    // Aynı taraftan öldürme aksiyonları ortak karar verir: en çok seçilen hedef, eşitlikte küçük numara
+    private void kill(PlayerTable players, int start, int end, Outcome outcome) {
+        int chosen = -1;
+        for (int i = start; i < end; i++) {
+            int target = target(actions[i]);
+            if (!players.isAlive(actor(actions[i])) || !players.isAlive(target)) {
+                continue;
+            }
+            int vote = ++votes[target];
+            if (chosen < 0 || vote > votes[chosen] || (vote == votes[chosen] && target < chosen)) {
+                chosen = target;
+            }
+        }
+        for (int i = start; i < end; i++) {
+            votes[target(actions[i])] = 0;
+        }
+        if (chosen >= 0 && !healed.get(chosen)) {
+            outcome.killed(chosen);
+        }
+    }
+
+    private void investigate(PlayerTable players, int start, int end, Outcome outcome) {
+        for (int i = start; i < end; i++) {
+            int actor = actor(actions[i]);
+            int target = target(actions[i]);
+            if (players.contains(target)) {
+                outcome.investigated(actor, target, players.role(target).getFaction());
+            }
+        }
+    }
+
+    private static int actor(long action) {
+        return (int) (action >>> ACTOR_SHIFT & PLAYER_MASK);
+    }
+
+    private static int target(long action) {
+        return (int) (action & PLAYER_MASK);
+    }
+}
@@ -0,0 +1,120 @@
+package com.bag_tos;
+
+import com.bag_tos.roles.Faction;
+import com.bag_tos.roles.Role;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+// Bir maçtaki oyuncuların sıkı numaralı tablosu. Oyuncu numarası katılma sırasıdır (ikili protokoldeki
+// numarayla aynı); roller dizide, canlılık BitSet'te tutulur. Arama ve öldürme O(1), canlılar
+// üzerinde gezinme O(canlı) maliyetlidir.
+final class PlayerTable {
+    private ClientHandler[] handlers;
+    private Role[] roles;
+    private final Map<String, Integer> index = new HashMap<>();
+    private final BitSet alive = new BitSet();
+    private int size;
+    private int aliveCount;
+    private final int[] aliveByFaction = new int[Faction.values().length];
+
+    PlayerTable(int capacity) {
+        handlers = new ClientHandler[Math.max(1, capacity)];
+        roles = new Role[handlers.length];
+    }
+
+    // Simülatörün oyuncularının bağlantısı ve adı yoktur (handler null)
+    int add(ClientHandler handler) {
+        if (size == handlers.length) {
+            handlers = Arrays.copyOf(handlers, size * 2);
+            roles = Arrays.copyOf(roles, size * 2);
+        }
+        int id = size++;
+        handlers[id] = handler;
+        if (handler != null) {
+            index.put(handler.getUsername(), id);
+        }
+        return id;
+    }
+
+    // Yalnızca oyun başlamadan; sonraki oyuncuların numarası bir kayar
+    void remove(int id) {
+        index.remove(handlers[id].getUsername());
+        System.arraycopy(handlers, id + 1, handlers, id, size - id - 1);
+        System.arraycopy(roles, id + 1, roles, id, size - id - 1);
+        handlers[--size] = null;
+        roles[size] = null;
+        for (int i = id; i < size; i++) {
+            index.put(handlers[i].getUsername(), i);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    int idOf(String username) {
+        Integer id = index.get(username);
+        return id == null ? -1 : id;
+    }
+
+    boolean contains(int id) {
+        return id >= 0 && id < size;
+    }
+
+    ClientHandler get(int id) {
+        return handlers[id];
+    }
+
+    String nameOf(int id) {
+        return contains(id) ? handlers[id].getUsername() : null;
+    }
+
+    Role role(int id) {
+        return roles[id];
+    }
+
+    void setRole(int id, Role role) {
+        roles[id] = role;
+    }
+
+    // Oyun başında herkes canlı işaretlenir; rollerin atanmış olması gerekir
+    void reviveAll() {
+        alive.set(0, size);
+        aliveCount = size;
+        Arrays.fill(aliveByFaction, 0);
+        for (int i = 0; i < size; i++) {
+            aliveByFaction[roles[i].getFaction().ordinal()]++;
+        }
+    }
+
+    boolean isAlive(int id) {
+        return alive.get(id);
+    }
+
+    // Oyuncu zaten ölüyse false döner
+    boolean kill(int id) {
+        if (!alive.get(id)) {
+            return false;
+        }
+        alive.clear(id);
+        aliveCount--;
+        aliveByFaction[roles[id].getFaction().ordinal()]--;
+        return true;
+    }
+
+    // Canlılar üzerinde gezinme: for (int i = nextAlive(0); i >= 0; i = nextAlive(i + 1))
+    int nextAlive(int from) {
+        return alive.nextSetBit(from);
+    }
+
+    int aliveCount() {
+        return aliveCount;
+    }
+
+    int aliveIn(Faction faction) {
+        return aliveByFaction[faction.ordinal()];
+    }
+}
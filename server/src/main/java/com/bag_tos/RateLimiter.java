@@ -0,0 +1,111 @@
+package com.bag_tos;
+
+import com.bag_tos.metrics.Counter;
+import com.bag_tos.metrics.Metrics;
+
+// Bağlantı başına hız sınırı: tüm satırlar için bir kova, her komut türü için Command'ın bildirdiği ayrı bir
+// kova. Sınırı aşan her satır bir ceza jetonu yer; ceza kovası boşalan bağlantı kötüye kullanım sayılır.
+// Sohbet fazlası bagtos.chatOverflow ayarına göre atılır ya da birikip tek mesaj olarak gönderilir.
+final class RateLimiter {
+    private static final Counter DROPPED = Metrics.counter("ratelimit.dropped");
+    private static final Counter MERGED = Metrics.counter("ratelimit.merged");
+    private static final Counter KICKED = Metrics.counter("ratelimit.kicked");
+    private static final Command[] COMMANDS = Command.values();
+    private static final int MAX_MERGED = 512; // Birleştirilen mesajın üst sınırı, fazlası atılır
+    private static final String SEPARATOR = " | ";
+
+    enum Verdict {
+        ALLOW, // İşlenir
+        MERGE, // Sohbet tamponuna eklendi
+        WARN,  // Atıldı; art arda atılanların ilki, kullanıcı uyarılır
+        DROP,  // Sessizce atıldı
+        ABUSE  // Bağlantı kesilmeli
+    }
+
+    private final TokenBucket lines;
+    private final TokenBucket strikes;
+    private final TokenBucket[] commands = new TokenBucket[COMMANDS.length];
+    private final StringBuilder pending = new StringBuilder();
+    private boolean rejecting;
+
+    RateLimiter() {
+        long now = System.nanoTime();
+        lines = new TokenBucket(ServerConfig.RATE_LINES_PER_SECOND, ServerConfig.RATE_LINE_BURST, now);
+        // Ceza jetonları on saniyede yenilenir; arada bir sınırı aşan kullanıcı atılmaz
+        strikes = new TokenBucket(ServerConfig.ABUSE_LIMIT / 10.0, ServerConfig.ABUSE_LIMIT, now);
+        for (Command command : COMMANDS) {
+            commands[command.ordinal()] = new TokenBucket(command.getRate(), command.getBurst(), now);
+        }
+    }
+
+    // command null: kullanıcı adından önceki ya da tanınmayan satır, yalnızca satır kovasından düşer
+    synchronized Verdict check(Command command, long now) {
+        if (!lines.tryAcquire(now)) {
+            return reject(now);
+        }
+        if (command == null) {
+            return Verdict.ALLOW;
+        }
+        // Bekleyen birleşik mesaj varsa sıra bozulmasın diye yeni sohbet de arkasına eklenir
+        if (command == Command.CHAT && !pending.isEmpty()) {
+            return Verdict.MERGE;
+        }
+        if (commands[command.ordinal()].tryAcquire(now)) {
+            rejecting = false;
+            return Verdict.ALLOW;
+        }
+        if (command == Command.CHAT && ServerConfig.CHAT_OVERFLOW == ServerConfig.ChatOverflow.MERGE) {
+            return Verdict.MERGE;
+        }
+        return reject(now);
+    }
+
+    // true: tampon boştu, birleşik mesajın gönderimi zamanlanmalı
+    synchronized boolean merge(String text) {
+        boolean first = pending.isEmpty();
+        if (pending.length() + SEPARATOR.length() + text.length() > MAX_MERGED) {
+            DROPPED.increment();
+            return false;
+        }
+        if (!first) {
+            pending.append(SEPARATOR);
+        }
+        pending.append(text);
+        MERGED.increment();
+        return first;
+    }
+
+    // Sohbet kovasında jeton varsa birleşik mesajı verir ve tamponu boşaltır; jeton yoksa null, tampon boşsa ""
+    synchronized String drain(long now) {
+        if (pending.isEmpty()) {
+            return "";
+        }
+        if (!commands[Command.CHAT.ordinal()].tryAcquire(now)) {
+            return null;
+        }
+        String merged = pending.toString();
+        pending.setLength(0);
+        return merged;
+    }
+
+    synchronized long nanosUntilChat(long now) {
+        return commands[Command.CHAT.ordinal()].nanosUntilToken(now);
+    }
+
+    synchronized void discard() {
+        pending.setLength(0);
+    }
+
+    private Verdict reject(long now) {
+        DROPPED.increment();
+        if (!strikes.tryAcquire(now)) {
+            KICKED.increment();
+            return Verdict.ABUSE;
+        }
+        if (rejecting) {
+            return Verdict.DROP;
+        }
+        rejecting = true;
+        return Verdict.WARN;
+    }
+}
@@ -1,88 +1,238 @@
 package com.bag_tos;
 
+import com.bag_tos.journal.JournalReplay;
+import com.bag_tos.log.Log;
+import com.bag_tos.metrics.Histogram;
+import com.bag_tos.metrics.Metrics;
+import com.bag_tos.net.Frame;
+
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static com.bag_tos.MessageUtils.*;
 
+// Sunucu genelindeki oda ve maç kaydı. Kullanıcı adı alan oyuncu ortak LOBBY odasına girer, /ready ile
+// eşleştirme kuyruğuna geçer; kuyruktan kurulan her maçın kendi LOBBY/MAFYA odaları, rolleri ve
+// zamanlayıcısı vardır, endGame sonrası kaldırılır. Oda üyelikleri yazma anında kopyalanır; yayınlar
+// kilitsiz gezinir, üyelik yalnızca katılma/ayrılmada değişir.
 public class RoomHandler {
-    private Map<String, List<ClientHandler>> rooms = new HashMap<>();
-    private List<ClientHandler> players = new ArrayList<>();
-    Game game = new Game(new ArrayList<>());
-    private boolean gameStarted = false;
-    int readyCount = 0;
-    int startCount = 0;
-    ArrayList<String> activeUsernames = new ArrayList<>();
+    static final Histogram FANOUT = Metrics.histogram("broadcast.fanout.us");
+    static final String LOBBY = "LOBBY"; // Maçta olmayan oyuncular
+
+    private final Map<String, CopyOnWriteArrayList<ClientHandler>> rooms = new ConcurrentHashMap<>();
+    private final Map<Integer, Game> games = new ConcurrentHashMap<>();
+    private final Matchmaker matchmaker = new Matchmaker(ServerConfig.GAME_SIZE, this::startMatch);
+    private int nextGameId = 1;
+    private final Set<String> activeUsernames = ConcurrentHashMap.newKeySet();
+    private final Map<String, ClientHandler> sessions = new ConcurrentHashMap<>(); // Jeton -> oturum sahibi
 
     public RoomHandler() {
-        createRoom("LOBBY"); // Ana lobi
-        createRoom("MAFYA"); // Mafya özel odası
+        Metrics.gauge("games.active", games::size);
+        Metrics.gauge("sessions.active", sessions::size);
     }
 
-    public void startGame() {
-        gameStarted = true;
-        broadcastToRoom("LOBBY","SISTEM: Oyun basliyor! Roller dagitiliyor...");
+    public synchronized void joinLobby(ClientHandler player) {
+        if (!activeUsernames.contains(player.getUsername())) {
+            return; // Maç biterken bağlantısı kopmuş
+        }
+        player.setAlive(true);
+        player.setGame(null);
+        addToRoom(LOBBY, player);
+        player.sendMessage("SISTEM: Lobidesiniz. Maca katilmak icin /ready yazin (" + matchmaker.gameSize() + " kisilik).");
+    }
 
-        for (ClientHandler player : players) {
-            player.setGame(game); // Tüm oyunculara Game referansını ata
+    // Oyuncu sıraya girer; maç boyu dolduysa maç bu çağrıda kurulur
+    public void enqueue(ClientHandler player) {
+        int position = matchmaker.enqueue(player);
+        if (position > 0) {
+            player.sendMessage("SISTEM: Mac sirasindasiniz (" + position + "/" + matchmaker.gameSize() + ")");
         }
+    }
+
+    // Kuyruktan çıkan oyuncularla yeni maç açılır ve hemen başlatılır
+    private void startMatch(List<ClientHandler> players) {
+        Game game;
+        List<ClientHandler> gone = new ArrayList<>();
+        synchronized (this) {
+            for (ClientHandler player : players) {
+                if (!activeUsernames.contains(player.getUsername())) {
+                    gone.add(player); // Kuyruktan alınırken oturumu kapanmış
+                }
+            }
+            if (!gone.isEmpty()) {
+                game = null;
+            } else {
+                game = createGame(players.size());
+                for (ClientHandler player : players) {
+                    leaveRoom(LOBBY, player);
+                    player.setAlive(true);
+                    player.setGame(game);
+                    game.addPlayer(player);
+                }
+            }
+        }
+        if (game == null) {
+            // Kalanlar sıraya yeniden girer
+            players.stream().filter(p -> !gone.contains(p)).forEach(this::enqueue);
+            return;
+        }
+        startGame(game);
+    }
+
+    // Çöken açılışın yarıda kalan maçları yeni numarayla sürdürülür. Oyuncuların adları ve eski jetonları
+    // ayrılır; bekleme süresi içinde /devam ile dönmeyen oyuncu ayrılmış sayılır.
+    public void recover(List<JournalReplay.ReplayedGame> interrupted) {
+        for (JournalReplay.ReplayedGame saved : interrupted) {
+            Game game;
+            List<ClientHandler> handlers = new ArrayList<>();
+            synchronized (this) {
+                game = createGame(saved.getPlayers().size());
+                for (int i = 0; i < saved.getPlayers().size(); i++) {
+                    String username = saved.getPlayers().get(i);
+                    String token = saved.getTokens().get(i);
+                    // Jetonu olmayan (eski günlük) ya da ayrılmış oyuncunun oturumu açılmaz, süresi dolunca düşer
+                    Session session = token == null || saved.getLeft().get(i)
+                            ? new Session(saved.getBinary().get(i), ServerConfig.REPLAY_BUFFER)
+                            : new Session(token, saved.getBinary().get(i), ServerConfig.REPLAY_BUFFER);
+                    ClientHandler player = ClientHandler.restored(this, username, session);
+                    activeUsernames.add(username);
+                    if (token != null && !saved.getLeft().get(i)) {
+                        openSession(token, player);
+                    }
+                    player.setGame(game);
+                    player.setAlive(saved.getAlive().get(i));
+                    handlers.add(player);
+                }
+                game.markStarted();
+            }
+            game.restore(saved, handlers);
+        }
+    }
+
+    private Game createGame(int size) {
+        Game game = new Game(nextGameId++, size);
         game.setRoomHandler(this);
-        game.initializeGame();
-        game.start();
+        createRoom(game.getLobbyRoom()); // Maçın ana lobisi
+        createRoom(game.getMafiaRoom()); // Maçın mafya özel odası
+        games.put(game.getId(), game);
+        Log.info("Oyun #{} olusturuldu (aktif oyun: {})", game.getId(), games.size());
+        return game;
+    }
+
+    public void startGame(Game game) {
+        synchronized (this) {
+            if (game.isStarted()) {
+                return;
+            }
+            game.markStarted();
+        }
+        // Kilit altında ayrılmış koltukların eklenmesinden sonra çalışsın
+        game.submit(() -> {
+            game.broadcastToLobby(Frame.of("SISTEM: Oyun basliyor! Roller dagitiliyor..."));
+            game.initializeGame();
+            game.start();
+        });
+    }
+
+    // endGame sonrası maçın odaları kaldırılır, oyuncular ortak lobiye döner
+    public void removeGame(Game game) {
+        List<ClientHandler> players;
+        synchronized (this) {
+            if (games.remove(game.getId()) == null) {
+                return;
+            }
+            players = new ArrayList<>(getClientsInRoom(game.getLobbyRoom()));
+            rooms.remove(game.getLobbyRoom());
+            rooms.remove(game.getMafiaRoom());
+            Log.info("Oyun #{} kapatildi (aktif oyun: {})", game.getId(), games.size());
+        }
+        players.forEach(this::joinLobby);
     }
 
     public void createRoom(String roomName) {
-        rooms.put(roomName, new ArrayList<>());
+        rooms.put(roomName, new CopyOnWriteArrayList<>());
     }
 
     public void addToRoom(String roomName, ClientHandler player) {
-        if (!rooms.containsKey(roomName)) {
-            createRoom(roomName);
-        }
+        CopyOnWriteArrayList<ClientHandler> room = rooms.computeIfAbsent(roomName, k -> new CopyOnWriteArrayList<>());
         // Oyuncu zaten bu odadaysa ekleme
-        if (!rooms.get(roomName).contains(player)) {
-            rooms.get(roomName).add(player);
-            if(Objects.equals(roomName, "LOBBY")){
-                players.add(player);
-                player.setGame(game);
-                game.addPlayer(player);
-                broadcastToRoom("LOBBY", "SISTEM: " + player.getUsername() + " lobiye katildi! (" + players.size() + "/4)");
-            }
-            System.out.println(roomName + " odasına " + player.getUsername() + " girdi");
+        if (room.addIfAbsent(player)) {
+            Log.debug("{} odasına {} girdi", roomName, player.getUsername());
         }
     }
 
     public void broadcastToRoom(String roomName, String message) {
-        if (rooms.containsKey(roomName)) {
-            rooms.get(roomName).forEach(p -> p.sendMessage(message));
+        broadcastToRoom(roomName, Frame.of(message));
+    }
+
+    // Mesaj bir kez kodlanır, aynı Frame odadaki herkese yazılır
+    public void broadcastToRoom(String roomName, Frame frame) {
+        List<ClientHandler> room = rooms.get(roomName);
+        if (room != null) {
+            long start = System.nanoTime();
+            room.forEach(p -> p.sendFrame(frame));
+            FANOUT.recordNanos(start);
         }
     }
 
     public void removeFromRoom(String roomName, ClientHandler player) {
-        if (rooms.get(roomName).contains(player)) {
-            rooms.get(roomName).remove(player);
-            System.out.println(roomName + " odasından " + player.getUsername() + " çıkarıldı");
-        } else{
-            System.out.println("öyle biri yok");
+        List<ClientHandler> room = rooms.get(roomName);
+        if (room != null && room.remove(player)) {
+            Log.debug("{} odasından {} çıkarıldı", roomName, player.getUsername());
         }
     }
 
     public List<ClientHandler> getClientsInRoom(String roomName) {
-        return rooms.getOrDefault(roomName, new ArrayList<>());
+        List<ClientHandler> room = rooms.get(roomName);
+        return room != null ? room : List.of();
+    }
+
+    // Kontrol ve ekleme tek adımdır; aynı adı iki bağlantı aynı anda alamaz
+    public boolean reserveUsername(String username) {
+        return activeUsernames.add(username);
+    }
+
+    public void openSession(String token, ClientHandler player) {
+        sessions.put(token, player);
+    }
+
+    // Yalnızca sürmekte olan maçlar izlenebilir
+    public Game findGame(int gameId) {
+        return games.get(gameId);
+    }
+
+    public ClientHandler findSession(String token) {
+        return sessions.get(token);
     }
 
-    public void readyCountHandle(){
-        if(readyCount >= 4 && startCount >= 1){
-            startGame();
+    public void closeSession(String token) {
+        sessions.remove(token);
+    }
+
+    // Bağlantı koptuğunda ad, sıra, odalar ve maçtaki yer serbest bırakılır
+    public void release(ClientHandler player) {
+        if (player.getUsername() == null) {
+            return; // El sıkışma tamamlanmamış
+        }
+        Game game;
+        synchronized (this) {
+            activeUsernames.remove(player.getUsername());
+            game = player.getGame();
         }
-        else if (readyCount < 4 && startCount >= 1){
-            broadcastToRoom("LOBBY", formatError("Yeterli oyuncu yok"));
+        matchmaker.remove(player);
+        leaveRoom(LOBBY, player);
+        if (game != null) {
+            leaveRoom(game.getLobbyRoom(), player);
+            leaveRoom(game.getMafiaRoom(), player);
+            game.removePlayer(player);
         }
     }
 
-    public boolean isUsernameTaken(String username) {
-        return activeUsernames.contains(username);
-    }
-    public void addUsername(String username) {
-        activeUsernames.add(username);
+    private void leaveRoom(String roomName, ClientHandler player) {
+        List<ClientHandler> room = rooms.get(roomName);
+        if (room != null) {
+            room.remove(player);
+        }
     }
-}
\ No newline at end of file
+}
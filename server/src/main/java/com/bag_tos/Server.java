@@ -1,26 +1,52 @@
 package com.bag_tos;
 
+import com.bag_tos.journal.Journal;
+import com.bag_tos.journal.JournalReplay;
+import com.bag_tos.log.Log;
+import com.bag_tos.metrics.MetricsServer;
+import com.bag_tos.net.NioServer;
+import com.bag_tos.net.SocketConnection;
+
 import java.io.IOException;
 import java.net.ServerSocket;
-import java.util.ArrayList;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.ThreadFactory;
 
 public class Server {
     public static void main(String[] args) throws IOException {
-        int PORT = 1234;
-        ServerSocket serverSocket = new ServerSocket(PORT);
-        List<ClientHandler> clients = new ArrayList<>();
+        int PORT = ServerConfig.PORT;
+        if (ServerConfig.DEBUG) {
+            MessageUtils.setDebugMode(true);
+        }
         RoomHandler roomHandler = new RoomHandler();
         //Lobby lobby = new Lobby();
 
-        System.out.println("Sunucu basladi. Port: " + PORT);
+        Log.info("Sunucu basladi. Port: {} ({})", PORT, ServerConfig.IO_MODE);
+        MetricsServer.start(ServerConfig.METRICS_PORT);
+        if (!ServerConfig.JOURNAL_DIR.isEmpty()) {
+            Path journalDir = Path.of(ServerConfig.JOURNAL_DIR);
+            int segmentBytes = Journal.segmentBytes(ServerConfig.JOURNAL_SEGMENT_MB);
+            // Yeni açılış kaydından önce okunur: yalnızca önceki açılışın yarıda kalan maçları
+            List<JournalReplay.ReplayedGame> interrupted = JournalReplay.interrupted(journalDir);
+            Journal.open(journalDir, segmentBytes, ServerConfig.JOURNAL_FLUSH_MS);
+            if (!interrupted.isEmpty()) {
+                Log.info("Günlükten {} yarıda kalmış maç kuruluyor", interrupted.size());
+                roomHandler.recover(interrupted);
+            }
+        }
 
+        if (ServerConfig.IO_MODE == ServerConfig.IoMode.NIO) {
+            new NioServer(PORT, ServerConfig.EVENT_LOOPS, ServerConfig.OUTBOUND_LIMIT, ServerConfig.OVERFLOW_POLICY, connection -> new ClientHandler(connection, roomHandler)).run();
+            return;
+        }
+
+        ServerSocket serverSocket = new ServerSocket(PORT);
+        ThreadFactory clientThreads = ServerConfig.threadFactory("client-");
         while (true) {
-            ClientHandler clientHandler = new ClientHandler(serverSocket.accept(), roomHandler);
-            clients.add(clientHandler);
-            new Thread(clientHandler).start();
+            SocketConnection connection = new SocketConnection(serverSocket.accept(), ServerConfig.OUTBOUND_LIMIT, ServerConfig.OVERFLOW_POLICY);
+            ClientHandler clientHandler = new ClientHandler(connection, roomHandler);
+            clientThreads.newThread(() -> connection.serve(clientHandler)).start();
         }
     }
 }
-
-
@@ -0,0 +1,67 @@
+package com.bag_tos;
+
+import com.bag_tos.net.OverflowPolicy;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+// Sunucu ayarları; -Dbagtos.<ayar>=<değer> ile başlangıçta değiştirilebilir
+public final class ServerConfig {
+    public enum IoMode {
+        THREAD,  // Her bağlantıya bir platform thread'i
+        VIRTUAL, // Her bağlantıya bir virtual thread
+        NIO      // Selector tabanlı event loop'lar
+    }
+
+    // Sohbet kovası boşken gelen mesajlar
+    public enum ChatOverflow {
+        DROP, // Atılır
+        MERGE // Birikip jeton dolunca tek mesaj olarak gönderilir
+    }
+
+    public static final int PORT = Integer.getInteger("bagtos.port", 1234);
+    public static final IoMode IO_MODE = IoMode.valueOf(System.getProperty("bagtos.io", "thread").toUpperCase());
+    public static final int EVENT_LOOPS = Integer.getInteger("bagtos.eventLoops", Runtime.getRuntime().availableProcessors());
+    public static final int OUTBOUND_LIMIT = Integer.getInteger("bagtos.outboundLimit", 1024);
+    public static final OverflowPolicy OVERFLOW_POLICY = OverflowPolicy.valueOf(System.getProperty("bagtos.overflowPolicy", "disconnect").toUpperCase());
+    public static final int GAME_WORKERS = Integer.getInteger("bagtos.gameWorkers", Runtime.getRuntime().availableProcessors());
+    public static final int GAME_SIZE = Integer.getInteger("bagtos.gameSize", 4); // Eşleştiricinin kurduğu maç boyu, en az 3
+    public static final int PHASE_SECONDS = Integer.getInteger("bagtos.phaseSeconds", 30);
+    public static final long TIMER_TICK_MS = Long.getLong("bagtos.timerTickMs", 100);
+    public static final boolean DEBUG = Boolean.getBoolean("bagtos.debug"); // Debug mesajları ve debug günlüğü
+    public static final String JOURNAL_DIR = System.getProperty("bagtos.journalDir", ""); // Boş (varsayılan): günlük kapalı
+    public static final int JOURNAL_SEGMENT_MB = Integer.getInteger("bagtos.journalSegmentMb", 64);
+    public static final long JOURNAL_FLUSH_MS = Long.getLong("bagtos.journalFlushMs", 200);
+    public static final int REPLAY_BUFFER = Integer.getInteger("bagtos.replayBuffer", 128); // Oturum başına saklanan son mesaj
+    public static final int RECONNECT_GRACE_SECONDS = Integer.getInteger("bagtos.reconnectGraceSeconds", 60);
+    public static final int SPECTATOR_BUFFER = Integer.getInteger("bagtos.spectatorBuffer", 1024); // Maç başına izleyici tamponu
+    public static final int SPECTATOR_DELAY_SECONDS = Integer.getInteger("bagtos.spectatorDelaySeconds", 0);
+    public static final int RATE_LINES_PER_SECOND = Integer.getInteger("bagtos.rateLinesPerSecond", 10); // Bağlantı başına tüm satırlar
+    public static final int RATE_LINE_BURST = Integer.getInteger("bagtos.rateLineBurst", 20);
+    public static final ChatOverflow CHAT_OVERFLOW = ChatOverflow.valueOf(System.getProperty("bagtos.chatOverflow", "merge").toUpperCase());
+    public static final int ABUSE_LIMIT = Integer.getInteger("bagtos.abuseLimit", 50); // Bu kadar satır atılan bağlantı kesilir
+    public static final int HEARTBEAT_SECONDS = Integer.getInteger("bagtos.heartbeatSeconds", 15); // Sessiz bağlantıya PING; 0: kapalı
+    public static final int IDLE_TIMEOUT_SECONDS = Integer.getInteger("bagtos.idleTimeoutSeconds", 45); // Hiç satır gelmezse kapatılır
+    public static final int HANDSHAKE_TIMEOUT_SECONDS = Integer.getInteger("bagtos.handshakeTimeoutSeconds", 30); // Kullanıcı adı için
+    public static final int METRICS_PORT = Integer.getInteger("bagtos.metricsPort", 9464); // 0: yalnızca JMX
+
+    // VIRTUAL modda bağlantı ve oyun zamanlayıcı thread'leri virtual thread olarak açılır
+    public static ThreadFactory threadFactory(String name) {
+        if (IO_MODE == IoMode.VIRTUAL) {
+            return Thread.ofVirtual().name(name, 0).factory();
+        }
+        return Thread.ofPlatform().name(name, 0).factory();
+    }
+
+    // Faz geçişlerini çalıştıran, tüm maçların paylaştığı iş havuzu
+    public static ExecutorService gameWorkers() {
+        if (IO_MODE == IoMode.VIRTUAL) {
+            return Executors.newThreadPerTaskExecutor(threadFactory("game-"));
+        }
+        return Executors.newFixedThreadPool(GAME_WORKERS, threadFactory("game-worker-"));
+    }
+
+    private ServerConfig() {
+    }
+}
@@ -0,0 +1,95 @@
+package com.bag_tos;
+
+import com.bag_tos.net.Frame;
+import com.bag_tos.timer.Timeout;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+// Kullanıcı adı el sıkışmasından sonra verilen oturum. Son giden mesajlar sınırlı bir halka tamponda,
+// jetondan bu yana gönderilen birim sayısıyla (metin: satır, ikili: çerçeve) birlikte tutulur; yeniden
+// bağlanan istemci aldığı sayıyı bildirir, kaçırdıkları tekrar gönderilir.
+final class Session {
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final String token;
+    private final boolean binary; // Sayım birimi; devam eden bağlantı aynı modda olmalı
+    private final Frame[] recent;
+    private final long[] ends; // Her mesajın bittiği birim sayısı
+    private int next;
+    private int size;
+    private long sent;
+    private Timeout grace; // Bağlantı kopukken oturumun kapanacağı an
+
+    Session(boolean binary, int capacity) {
+        this(newToken(), binary, capacity);
+    }
+
+    // Çöken açılıştan kurtarılan oturum günlükteki jetonla açılır; halka tampon ve sayım sıfırdan başlar
+    Session(String token, boolean binary, int capacity) {
+        this.token = token;
+        this.binary = binary;
+        this.recent = new Frame[capacity];
+        this.ends = new long[capacity];
+    }
+
+    private static String newToken() {
+        byte[] bytes = new byte[16];
+        RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    String token() {
+        return token;
+    }
+
+    boolean isBinary() {
+        return binary;
+    }
+
+    // Çağıran oturumun kilidini tutar; kayıt ve gönderim aynı sırada olur
+    void record(Frame frame) {
+        sent += binary ? 1 : frame.lineCount();
+        recent[next] = frame;
+        ends[next] = sent;
+        next = (next + 1) % recent.length;
+        size = Math.min(size + 1, recent.length);
+    }
+
+    // İstemcinin received biriminden sonrasını kapsayan mesajlar; tampon o kadar geriye gitmiyorsa eldeki hepsi
+    List<Frame> missedSince(long received) {
+        if (received > sent) {
+            received = 0; // Sayaç önceki sunucu açılışından kalmış (kurtarılan oturum); eldeki her şey gider
+        }
+        List<Frame> missed = new ArrayList<>();
+        for (int i = size; i > 0; i--) {
+            int index = Math.floorMod(next - i, recent.length);
+            if (ends[index] > received) {
+                missed.add(recent[index]);
+            }
+        }
+        return missed;
+    }
+
+    // Tekrar gönderilecek ilk mesajdan önceki birim sayısı; istemci sayacını buna ayarlar
+    long countBefore(int missed) {
+        if (missed == 0) {
+            return sent;
+        }
+        int first = Math.floorMod(next - missed, recent.length);
+        return ends[first] - (binary ? 1 : recent[first].lineCount());
+    }
+
+    void setGrace(Timeout grace) {
+        this.grace = grace;
+    }
+
+    void cancelGrace() {
+        if (grace != null) {
+            grace.cancel();
+            grace = null;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.bag_tos;
+
+import com.bag_tos.roles.Ability;
+import com.bag_tos.roles.Faction;
+import com.bag_tos.roles.Role;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Soketsiz, zamanlayıcısız tek maç. Canlı sunucunun kuralları (rol havuzu, PlayerTable, NightResolver,
+// VoteTally, Game.winner) aynen kullanılır; oyuncuların yerine Strategy karar verir, zaman sanal saatte
+// faz süresi kadar ilerler. Aynı tohum aynı maçı üretir.
+final class SimulatedGame implements NightResolver.Outcome {
+    static final int MAX_DAYS = 100; // Kimse ölmeden dönen maçlar berabere sayılır
+    private static final Faction[] FACTIONS = Faction.values();
+
+    private final PlayerTable players;
+    private final VoteTally votes = new VoteTally();
+    private final NightResolver night = new NightResolver();
+    private final SplittableRandom random;
+    private final Strategy[] strategies; // Taraf -> strateji
+    private final byte[] known; // [gözlemci * n + hedef] -> bilinen taraf + 1 (0: bilinmiyor)
+    private final int size;
+    private long clockMillis; // Sanal saat
+    private int days;
+    private int hanged = -1;
+
+    SimulatedGame(int size, long seed, Strategy[] strategies) {
+        this.size = size;
+        this.players = new PlayerTable(size);
+        this.random = new SplittableRandom(seed);
+        this.strategies = strategies;
+        this.known = new byte[size * size];
+    }
+
+    // Kazanan taraf; asılan Jester kazandıysa NEUTRAL, berabere ise null
+    Faction play(long phaseMillis) {
+        List<Role> pool = Game.rolePool(size);
+        Collections.shuffle(pool, random);
+        for (int i = 0; i < size; i++) {
+            players.add(null);
+            players.setRole(i, pool.get(i));
+        }
+        players.reviveAll();
+        for (int i = 0; i < size; i++) {
+            learn(i, i);
+            if (pool.get(i).getFaction() == Faction.MAFIA) {
+                for (int j = 0; j < size; j++) {
+                    if (pool.get(j).getFaction() == Faction.MAFIA) {
+                        learn(i, j); // Mafya takımını tanır
+                    }
+                }
+            }
+        }
+
+        while (days < MAX_DAYS) {
+            days++;
+            night.reset(size);
+            for (int i = players.nextAlive(0); i >= 0; i = players.nextAlive(i + 1)) {
+                Role role = players.role(i);
+                if (role.getAbility() == Ability.NONE) {
+                    continue;
+                }
+                int target = strategy(i).nightTarget(this, i);
+                if (target >= 0 && players.isAlive(target)) {
+                    night.submit(i, role, target);
+                }
+            }
+            night.resolve(players, this);
+            clockMillis += phaseMillis;
+            Faction winner = Game.winner(players);
+            if (winner != null) {
+                return winner;
+            }
+
+            votes.reset(size);
+            int alive = players.aliveCount();
+            for (int i = players.nextAlive(0); i >= 0; i = players.nextAlive(i + 1)) {
+                int target = strategy(i).vote(this, i);
+                if (target >= 0 && target != i && players.isAlive(target)) {
+                    votes.cast(i, target);
+                    if (votes.hasMajority(alive)) {
+                        break; // Canlı oyundaki gibi gün erken biter
+                    }
+                }
+            }
+            clockMillis += phaseMillis;
+            int leader = votes.leader();
+            if (leader >= 0 && players.kill(leader)) {
+                hanged = leader;
+                if (players.role(leader).winsWhenHanged()) {
+                    return Faction.NEUTRAL;
+                }
+            }
+            winner = Game.winner(players);
+            if (winner != null) {
+                return winner;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void killed(int target) {
+        players.kill(target);
+    }
+
+    @Override
+    public void investigated(int actor, int target, Faction faction) {
+        known[actor * size + target] = (byte) (faction.ordinal() + 1);
+    }
+
+    // Maç sonu: oyuncu kazanan taraftaysa (Jester yalnızca asıldıysa) kazanmıştır
+    boolean won(int player, Faction winner) {
+        if (winner == Faction.NEUTRAL) {
+            return player == hanged;
+        }
+        return winner != null && players.role(player).getFaction() == winner;
+    }
+
+    int size() {
+        return size;
+    }
+
+    Role role(int player) {
+        return players.role(player);
+    }
+
+    int days() {
+        return days;
+    }
+
+    long clockMillis() {
+        return clockMillis;
+    }
+
+    // Stratejiler için: canlılardan rastgele biri; avoid tarafından bildikleri hariç, yoksa -1
+    int randomAlive(int self, boolean includeSelf, Faction avoid) {
+        int count = 0;
+        for (int i = players.nextAlive(0); i >= 0; i = players.nextAlive(i + 1)) {
+            if (candidate(self, i, includeSelf, avoid)) {
+                count++;
+            }
+        }
+        if (count == 0) {
+            return -1;
+        }
+        int pick = random.nextInt(count);
+        for (int i = players.nextAlive(0); i >= 0; i = players.nextAlive(i + 1)) {
+            if (candidate(self, i, includeSelf, avoid) && pick-- == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Tarafını bilmediği canlılardan rastgele biri; hepsini biliyorsa herhangi biri
+    int randomUnknown(int self) {
+        int count = 0;
+        for (int i = players.nextAlive(0); i >= 0; i = players.nextAlive(i + 1)) {
+            if (known(self, i) == null) {
+                count++;
+            }
+        }
+        if (count == 0) {
+            return randomAlive(self, false, null);
+        }
+        int pick = random.nextInt(count);
+        for (int i = players.nextAlive(0); i >= 0; i = players.nextAlive(i + 1)) {
+            if (known(self, i) == null && pick-- == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Tarafının faction olduğunu bildiği ilk canlı oyuncu
+    int knownAlive(int self, Faction faction) {
+        for (int i = players.nextAlive(0); i >= 0; i = players.nextAlive(i + 1)) {
+            if (i != self && known(self, i) == faction) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    Faction known(int self, int player) {
+        int value = known[self * size + player];
+        return value == 0 ? null : FACTIONS[value - 1];
+    }
+
+    private boolean candidate(int self, int player, boolean includeSelf, Faction avoid) {
+        return (includeSelf || player != self) && (avoid == null || known(self, player) != avoid);
+    }
+
+    private void learn(int self, int player) {
+        known[self * size + player] = (byte) (players.role(player).getFaction().ordinal() + 1);
+    }
+
+    private Strategy strategy(int player) {
+        return strategies[players.role(player).getFaction().ordinal()];
+    }
+}
@@ -0,0 +1,148 @@
+package com.bag_tos;
+
+import com.bag_tos.roles.Faction;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+
+// Arayüzsüz denge simülatörü: çok sayıda maçı SimulatedGame ile tüm çekirdeklerde (fork-join) oynatır,
+// taraf ve rol başına kazanma oranlarını raporlar. Maç i'nin tohumu sim.seed ve i'den türetilir; sonuç
+// thread sayısından bağımsızdır.
+//
+// Ayarlar: -Dsim.games, -Dsim.size (varsayılan bagtos.gameSize), -Dsim.seed, -Dsim.threads,
+// -Dsim.town / -Dsim.mafia / -Dsim.neutral (random|informed)
+// java -cp ... com.bag_tos.Simulator
+public final class Simulator {
+    private static final long GAMES = Long.getLong("sim.games", 1_000_000);
+    private static final int SIZE = Integer.getInteger("sim.size", ServerConfig.GAME_SIZE);
+    private static final long SEED = Long.getLong("sim.seed", 1);
+    private static final int THREADS = Integer.getInteger("sim.threads", Runtime.getRuntime().availableProcessors());
+    private static final int BATCH = 4096; // Bundan küçük aralıklar bölünmeden tek görevde oynanır
+
+    public static void main(String[] args) {
+        if (SIZE < 3) {
+            throw new IllegalArgumentException("Maç en az 3 kişilik olmalı: " + SIZE);
+        }
+        Strategy[] strategies = new Strategy[Faction.values().length];
+        strategies[Faction.TOWN.ordinal()] = strategy("sim.town");
+        strategies[Faction.MAFIA.ordinal()] = strategy("sim.mafia");
+        strategies[Faction.NEUTRAL.ordinal()] = strategy("sim.neutral");
+
+        long start = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(THREADS);
+        Stats stats = pool.invoke(new Batch(0, GAMES, strategies));
+        pool.shutdown();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf(Locale.ROOT, "Simülasyon: %d maç, %d kişilik, tohum %d, %d thread, %.2f sn (%.0f maç/sn)%n",
+                stats.games, SIZE, SEED, THREADS, seconds, stats.games / seconds);
+        System.out.printf(Locale.ROOT, "Strateji: kasaba=%s mafya=%s tarafsız=%s%n",
+                strategies[0], strategies[1], strategies[2]);
+        System.out.printf(Locale.ROOT, "Taraf: kasaba %s | mafya %s | jester %s | berabere %s%n",
+                percent(stats.wins[Faction.TOWN.ordinal()], stats.games),
+                percent(stats.wins[Faction.MAFIA.ordinal()], stats.games),
+                percent(stats.wins[Faction.NEUTRAL.ordinal()], stats.games),
+                percent(stats.draws, stats.games));
+        stats.roles.forEach((role, counts) -> System.out.printf(Locale.ROOT, "Rol %-8s kazanma %s (n=%d)%n",
+                role, percent(counts[1], counts[0]), counts[0]));
+        System.out.printf(Locale.ROOT, "Ortalama: %.2f gün, sanal süre %d sn%n",
+                (double) stats.days / stats.games, TimeUnit.MILLISECONDS.toSeconds(stats.clockMillis / Math.max(1, stats.games)));
+    }
+
+    private static Strategy strategy(String property) {
+        return Strategy.valueOf(System.getProperty(property, "random").toUpperCase(Locale.ROOT));
+    }
+
+    private static String percent(long part, long total) {
+        return String.format(Locale.ROOT, "%.2f%%", total == 0 ? 0 : 100.0 * part / total);
+    }
+
+    // SplitMix64 karıştırması; ardışık maç numaraları birbirinden bağımsız tohumlar verir
+    static long seedOf(long game) {
+        long z = SEED + (game + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // [from, to) aralığındaki maçlar; büyükse ikiye bölünür
+    private static final class Batch extends RecursiveTask<Stats> {
+        private final long from;
+        private final long to;
+        private final Strategy[] strategies;
+
+        Batch(long from, long to, Strategy[] strategies) {
+            this.from = from;
+            this.to = to;
+            this.strategies = strategies;
+        }
+
+        @Override
+        protected Stats compute() {
+            if (to - from <= BATCH) {
+                Stats stats = new Stats();
+                long phaseMillis = TimeUnit.SECONDS.toMillis(ServerConfig.PHASE_SECONDS);
+                for (long i = from; i < to; i++) {
+                    SimulatedGame game = new SimulatedGame(SIZE, seedOf(i), strategies);
+                    stats.record(game, game.play(phaseMillis));
+                }
+                return stats;
+            }
+            long middle = (from + to) >>> 1;
+            Batch left = new Batch(from, middle, strategies);
+            left.fork();
+            Stats right = new Batch(middle, to, strategies).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    private static final class Stats {
+        long games;
+        long draws;
+        long days;
+        long clockMillis;
+        final long[] wins = new long[Faction.values().length];
+        final Map<String, long[]> roles = new TreeMap<>(); // Rol -> {oynanan, kazanılan}
+
+        void record(SimulatedGame game, Faction winner) {
+            games++;
+            days += game.days();
+            clockMillis += game.clockMillis();
+            if (winner == null) {
+                draws++;
+            } else {
+                wins[winner.ordinal()]++;
+            }
+            for (int i = 0; i < game.size(); i++) {
+                long[] counts = roles.computeIfAbsent(game.role(i).getName(), k -> new long[2]);
+                counts[0]++;
+                if (game.won(i, winner)) {
+                    counts[1]++;
+                }
+            }
+        }
+
+        Stats merge(Stats other) {
+            games += other.games;
+            draws += other.draws;
+            days += other.days;
+            clockMillis += other.clockMillis;
+            for (int i = 0; i < wins.length; i++) {
+                wins[i] += other.wins[i];
+            }
+            other.roles.forEach((role, counts) -> {
+                long[] mine = roles.computeIfAbsent(role, k -> new long[2]);
+                mine[0] += counts[0];
+                mine[1] += counts[1];
+            });
+            return this;
+        }
+    }
+
+    private Simulator() {
+    }
+}
@@ -0,0 +1,162 @@
+package com.bag_tos;
+
+import com.bag_tos.metrics.Counter;
+import com.bag_tos.metrics.Metrics;
+import com.bag_tos.net.ClientConnection;
+import com.bag_tos.net.Frame;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Maçın herkese açık akışı. Maç döngüsü her mesajı bir kez ortak halka tampona yazar; izleyicilere
+// gönderim döngünün dışında, ortak iş havuzunda çalışan bir pompa ile yapılır. Her izleyici kendi
+// imlecinden, istenirse gecikmeli olarak okur; izleyici sayısı maç döngüsünün işini artırmaz.
+// Pompa yalnızca yeni mesaj, yeni izleyici ya da gecikmeli bir mesajın vakti gelince çalışır; boş akış iş yapmaz.
+final class SpectatorFeed {
+    private static final Counter ACTIVE = Metrics.counter("spectators.active");
+    private static final Counter SKIPPED = Metrics.counter("spectators.skipped");
+    private static final Frame FINISHED = Frame.of("IZLEME_BITTI");
+
+    private final Frame[] frames;
+    private final long[] times; // Yayın anı, nanoTime
+    private volatile long head; // Yazılan mesaj sayısı; yalnızca maç döngüsü artırır
+    private volatile boolean closed;
+    private final long delayNanos;
+    private final List<Spectator> spectators = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean pumping = new AtomicBoolean(); // Pompa çalışıyor ya da vakti planlandı
+    private volatile boolean dirty; // Pompa çalışırken yeni mesaj ya da izleyici geldi
+
+    SpectatorFeed(int capacity, long delay, TimeUnit unit) {
+        this.frames = new Frame[capacity];
+        this.times = new long[capacity];
+        this.delayNanos = unit.toNanos(delay);
+    }
+
+    // Maç döngüsünde çağrılır: tek yazıcı, kilitsiz
+    void publish(Frame frame) {
+        long seq = head;
+        int index = (int) (seq % frames.length);
+        frames[index] = frame;
+        times[index] = System.nanoTime();
+        head = seq + 1;
+        if (!spectators.isEmpty()) {
+            wake();
+        }
+    }
+
+    // Maç bitti; izleyiciler kalan mesajları aldıktan sonra ayrılır
+    void close() {
+        closed = true;
+        wake();
+    }
+
+    long delaySeconds() {
+        return TimeUnit.NANOSECONDS.toSeconds(delayNanos);
+    }
+
+    // Yeni izleyici tamponda kalan en eski mesajdan başlar
+    Spectator watch(ClientConnection connection) {
+        Spectator spectator = new Spectator(this, connection, Math.max(0, head - frames.length));
+        spectators.add(spectator);
+        ACTIVE.increment();
+        wake();
+        return spectator;
+    }
+
+    void remove(Spectator spectator) {
+        if (spectators.remove(spectator)) {
+            ACTIVE.decrement();
+        }
+    }
+
+    private void wake() {
+        dirty = true;
+        if (pumping.compareAndSet(false, true)) {
+            Game.WORKERS.execute(this::pump);
+        }
+    }
+
+    // Aynı anda tek pompa çalışır. Gecikmesi dolmamış mesaj kaldıysa en erken vaktine planlanır
+    // (o zamana kadar gelen mesajlar daha geç dolacağından ayrıca uyandırmaz); yoksa yeni yayını bekler.
+    private void pump() {
+        dirty = false;
+        long now = System.nanoTime();
+        long visible = now - delayNanos;
+        boolean done = closed; // Önce okunur; kapandıysa head son değerindedir
+        long published = head;
+        boolean waiting = false;
+        long due = 0;
+        for (Spectator spectator : spectators) {
+            spectator.next = deliver(spectator, published, visible);
+            if (spectator.next < published) {
+                long at = times[(int) (spectator.next % frames.length)] + delayNanos;
+                if (!waiting || at - due < 0) {
+                    due = at;
+                }
+                waiting = true;
+            } else if (done) {
+                spectator.connection.send(FINISHED);
+                spectator.finished = true;
+                remove(spectator);
+            }
+        }
+        if (waiting) {
+            long wait = Math.max(0, due - now);
+            Game.TIMER.schedule(() -> Game.WORKERS.execute(this::pump), wait, TimeUnit.NANOSECONDS);
+            return;
+        }
+        pumping.set(false);
+        // Bu tur sırasında gelen mesaj ya da izleyici
+        if (dirty && pumping.compareAndSet(false, true)) {
+            Game.WORKERS.execute(this::pump);
+        }
+    }
+
+    private long deliver(Spectator spectator, long published, long visible) {
+        long next = spectator.next;
+        if (next < published - frames.length) {
+            SKIPPED.increment(); // İzleyici tamponun gerisinde kaldı
+            next = published - frames.length;
+        }
+        while (next < published) {
+            int index = (int) (next % frames.length);
+            Frame frame = frames[index];
+            long time = times[index];
+            if (next < head - frames.length) {
+                SKIPPED.increment(); // Okurken üzerine yazıldı, en eskiye atlanır
+                next = head - frames.length;
+                continue;
+            }
+            if (time - visible > 0) {
+                break; // Gecikme süresi dolmadı
+            }
+            spectator.connection.send(frame);
+            next++;
+        }
+        return next;
+    }
+
+    // Yalnızca pompa thread'i imleci değiştirir
+    static final class Spectator {
+        private final SpectatorFeed feed;
+        private final ClientConnection connection;
+        private long next;
+        private volatile boolean finished;
+
+        private Spectator(SpectatorFeed feed, ClientConnection connection, long next) {
+            this.feed = feed;
+            this.connection = connection;
+            this.next = next;
+        }
+
+        boolean isFinished() {
+            return finished;
+        }
+
+        void stop() {
+            feed.remove(this);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.bag_tos;
+
+import com.bag_tos.roles.Ability;
+import com.bag_tos.roles.Faction;
+
+// Simülasyonda soketin yerini alan oyuncu kararları. Strateji yalnızca oyuncunun bilebileceğini görür:
+// kendi rolü, canlılar ve SimulatedGame.known ile bildiği taraflar (mafya takımını, şerif sorgularını).
+// -Dsim.town=..., -Dsim.mafia=..., -Dsim.neutral=... ile taraf başına seçilir.
+enum Strategy {
+    // Canlılar arasından rastgele
+    RANDOM {
+        @Override
+        int nightTarget(SimulatedGame game, int self) {
+            return game.randomAlive(self, game.role(self).getAbility() == Ability.HEAL, null);
+        }
+
+        @Override
+        int vote(SimulatedGame game, int self) {
+            return game.randomAlive(self, false, null);
+        }
+    },
+    // Bildiğini kullanır: mafya takımını hedeflemez, şerif sorgulamadığını sorgular, bilinen mafyaya oy verilir
+    INFORMED {
+        @Override
+        int nightTarget(SimulatedGame game, int self) {
+            return switch (game.role(self).getAbility()) {
+                case KILL -> game.randomAlive(self, false, Faction.MAFIA);
+                case HEAL -> game.randomAlive(self, true, Faction.MAFIA);
+                case INVESTIGATE -> game.randomUnknown(self);
+                case NONE -> -1;
+            };
+        }
+
+        @Override
+        int vote(SimulatedGame game, int self) {
+            if (game.role(self).getFaction() == Faction.MAFIA) {
+                return game.randomAlive(self, false, Faction.MAFIA);
+            }
+            int mafia = game.knownAlive(self, Faction.MAFIA);
+            return mafia >= 0 ? mafia : game.randomAlive(self, false, Faction.TOWN);
+        }
+    };
+
+    // Gece hedefi; -1: aksiyon yok
+    abstract int nightTarget(SimulatedGame game, int self);
+
+    // Gündüz oyu; -1: çekimser
+    abstract int vote(SimulatedGame game, int self);
+}
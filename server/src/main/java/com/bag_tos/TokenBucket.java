@@ -0,0 +1,39 @@
+package com.bag_tos;
+
+// Jeton kovası: saniyede perSecond jeton dolar, en fazla burst jeton birikir. Zaman dışarıdan (nanoTime)
+// verilir; eşzamanlı kullanım çağıranın kilidiyle korunur.
+final class TokenBucket {
+    private final double perNano;
+    private final double burst;
+    private double tokens;
+    private long last;
+
+    TokenBucket(double perSecond, double burst, long now) {
+        this.perNano = perSecond / 1e9;
+        this.burst = burst;
+        this.tokens = burst;
+        this.last = now;
+    }
+
+    boolean tryAcquire(long now) {
+        refill(now);
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    // Bir sonraki jetona kalan süre; jeton varsa 0
+    long nanosUntilToken(long now) {
+        refill(now);
+        return tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) / perNano);
+    }
+
+    private void refill(long now) {
+        if (now > last) {
+            tokens = Math.min(burst, tokens + (now - last) * perNano);
+            last = now;
+        }
+    }
+}
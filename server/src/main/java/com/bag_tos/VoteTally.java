@@ -0,0 +1,105 @@
+package com.bag_tos;
+
+import java.util.Arrays;
+
+// Gündüz oylarının canlı sayımı. Oylar geldikçe (oy değişiklikleri dahil) sayılır ve önde giden hedef
+// güncel tutulur; gün sonunda asılacak kişi O(1)'de bulunur. Yalnızca önde gidenin oyu azalırsa
+// yeniden tarama yapılır. Eşitlikte oy sayısı en önce bu değere gelen (sayısı en eski değişen) önde kalır.
+final class VoteTally {
+    private int[] voteOf = new int[0]; // Oyuncu numarası -> hedef (-1: oy yok)
+    private int[] counts = new int[0]; // Hedef -> oy sayısı
+    private long[] changedAt = new long[0]; // Hedef -> sayısının son değiştiği sıra
+    private long sequence;
+    private int leader = -1;
+    private int leaderCount;
+
+    void reset(int playerCount) {
+        if (voteOf.length != playerCount) {
+            voteOf = new int[playerCount];
+            counts = new int[playerCount];
+            changedAt = new long[playerCount];
+        } else {
+            Arrays.fill(counts, 0);
+        }
+        Arrays.fill(voteOf, -1);
+        sequence = 0;
+        leader = -1;
+        leaderCount = 0;
+    }
+
+    // Oyu kaydeder; oyuncunun önceki hedefini döner (-1: ilk oyu)
+    int cast(int voter, int target) {
+        int previous = voteOf[voter];
+        if (previous == target) {
+            return previous;
+        }
+        voteOf[voter] = target;
+        counts[target]++;
+        changedAt[target] = ++sequence;
+        if (previous >= 0) {
+            counts[previous]--;
+            changedAt[previous] = ++sequence;
+            if (previous == leader) {
+                recomputeLeader();
+                return previous;
+            }
+        }
+        // Eşitlikte önde giden kalır: sayısına daha önce ulaştı
+        if (counts[target] > leaderCount) {
+            leader = target;
+            leaderCount = counts[target];
+        }
+        return previous;
+    }
+
+    // Ayrılan ya da ölen oyuncunun oyu geri alınır, ona verilen oylar silinir; o oyuncuları oylayanlar yeniden oy verebilir
+    void withdraw(int player) {
+        if (player >= voteOf.length) {
+            return; // Bu maçta henüz gündüz olmadı
+        }
+        int target = voteOf[player];
+        if (target >= 0) {
+            voteOf[player] = -1;
+            counts[target]--;
+            changedAt[target] = ++sequence;
+        }
+        if (counts[player] > 0) {
+            for (int i = 0; i < voteOf.length; i++) {
+                if (voteOf[i] == player) {
+                    voteOf[i] = -1;
+                }
+            }
+            counts[player] = 0;
+            changedAt[player] = ++sequence;
+        }
+        recomputeLeader();
+    }
+
+    int count(int target) {
+        return counts[target];
+    }
+
+    int leader() {
+        return leader;
+    }
+
+    int leaderCount() {
+        return leaderCount;
+    }
+
+    // aliveCount oyuncu içinde salt çoğunluğa ulaşıldı mı
+    boolean hasMajority(int aliveCount) {
+        return leaderCount > aliveCount / 2;
+    }
+
+    private void recomputeLeader() {
+        leader = -1;
+        leaderCount = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > leaderCount || (counts[i] == leaderCount && leader >= 0 && changedAt[i] < changedAt[leader])) {
+                leader = i;
+                leaderCount = counts[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.bag_tos.journal;
+
+import com.bag_tos.log.Log;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+// Maç olaylarının yalnızca sona eklenen, bellek eşlemeli ikili günlüğü. Kayıt yazmak eşlenmiş sayfaya
+// kopyalamaktır (sistem çağrısı yok); diske indirme (force) arka plandaki thread'de toplu yapılır, böylece
+// maç döngüsü disk beklemez. Dosyalar sabit boyutlu parçalardır (journal-000001.log ...), dolunca yenisi açılır.
+//
+// Kayıt: [u16 gövde uzunluğu][i32 CRC32C(gövde)][gövde: u8 tür, i32 maç, i64 epoch ms, veri]
+// Uzunluğu 0 olan yer parçanın sonudur; CRC tutmayan kayıt (çökme anında yarım yazılmış) parçayı bitirir.
+public final class Journal {
+    public static final byte PLAYER_JOINED = 1;  // u16 oyuncu, ad
+    public static final byte PLAYER_LEFT = 2;    // u16 oyuncu (lobide; sonrakiler bir kayar)
+    public static final byte ROLE_ASSIGNED = 3;  // u16 oyuncu, rol adı
+    public static final byte PHASE = 4;          // u8 faz (0 gece, 1 gündüz), i64 faz bitişi
+    public static final byte NIGHT_ACTION = 5;   // u16 oyuncu, u16 hedef
+    public static final byte VOTE = 6;           // u16 oy veren, u16 hedef
+    public static final byte DEATH = 7;          // u16 oyuncu, u8 sebep
+    public static final byte GAME_OVER = 8;      // kazanan
+    public static final byte SERVER_START = 9;   // maç numaraları her açılışta 1'den başlar
+    public static final byte SESSION = 10;       // u16 oyuncu, u8 1: ikili, oturum jetonu (çökmeden sonra /devam için)
+
+    public static final byte KILLED = 0;
+    public static final byte HANGED = 1;
+    public static final byte LEFT = 2;
+
+    static final int HEADER = 2 + 4;
+    static final int BODY_HEADER = 1 + 4 + 8;
+    private static final int MAX_BODY = 0xFFFF;
+
+    private static final Journal DISABLED = new Journal();
+    private static volatile Journal instance = DISABLED;
+
+    private final Path dir;
+    private final int segmentSize;
+    private final CRC32C crc = new CRC32C();
+    private final byte[] scratch = new byte[MAX_BODY];
+    private MappedByteBuffer segment;
+    private int segmentIndex;
+    private volatile boolean dirty;
+
+    private Journal() {
+        this.dir = null;
+        this.segmentSize = 0;
+    }
+
+    Journal(Path dir, int segmentSize) throws IOException {
+        this.dir = dir;
+        this.segmentSize = segmentSize;
+        Files.createDirectories(dir);
+        segmentIndex = JournalReader.lastSegmentIndex(dir);
+        openSegment();
+    }
+
+    // Parça tek bir eşlemedir; MappedByteBuffer int ile adreslendiği için 2 GiB'ın altında kalmalı
+    public static int segmentBytes(int megabytes) {
+        if (megabytes < 1 || megabytes > 2047) {
+            throw new IllegalArgumentException("bagtos.journalSegmentMb 1 ile 2047 arasında olmalı: " + megabytes);
+        }
+        return megabytes << 20;
+    }
+
+    // Sunucu başlarken bir kez çağrılır; çağrılmazsa kayıtlar yok sayılır
+    public static void open(Path dir, int segmentSize, long flushMillis) throws IOException {
+        Journal journal = new Journal(dir, segmentSize);
+        Thread flusher = new Thread(() -> {
+            while (true) {
+                try {
+                    Thread.sleep(flushMillis);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                journal.flush();
+            }
+        }, "journal-flush");
+        flusher.setDaemon(true);
+        flusher.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(journal::flush, "journal-close"));
+        journal.serverStart();
+        instance = journal;
+        Log.info("Olay günlüğü: {} (parça {} MB, flush {} ms)", dir, segmentSize >> 20, flushMillis);
+    }
+
+    public static Journal get() {
+        return instance;
+    }
+
+    public boolean isEnabled() {
+        return this != DISABLED;
+    }
+
+    void serverStart() {
+        append(SERVER_START, 0, -1, -1, null, 0);
+    }
+
+    public void playerJoined(int game, int player, String name) {
+        if (isEnabled()) {
+            append(PLAYER_JOINED, game, player, -1, name, 0);
+        }
+    }
+
+    public void playerLeft(int game, int player) {
+        if (isEnabled()) {
+            append(PLAYER_LEFT, game, player, -1, null, 0);
+        }
+    }
+
+    public void session(int game, int player, boolean binary, String token) {
+        if (isEnabled()) {
+            append(SESSION, game, player, binary ? 1 : 0, token, 0);
+        }
+    }
+
+    public void roleAssigned(int game, int player, String role) {
+        if (isEnabled()) {
+            append(ROLE_ASSIGNED, game, player, -1, role, 0);
+        }
+    }
+
+    public void phase(int game, int phase, long deadline) {
+        if (isEnabled()) {
+            append(PHASE, game, -1, phase, null, deadline);
+        }
+    }
+
+    public void nightAction(int game, int player, int target) {
+        if (isEnabled()) {
+            append(NIGHT_ACTION, game, player, target, null, 0);
+        }
+    }
+
+    public void vote(int game, int voter, int target) {
+        if (isEnabled()) {
+            append(VOTE, game, voter, target, null, 0);
+        }
+    }
+
+    public void death(int game, int player, byte cause) {
+        if (isEnabled()) {
+            append(DEATH, game, player, cause, null, 0);
+        }
+    }
+
+    public void gameOver(int game, String winner) {
+        if (isEnabled()) {
+            append(GAME_OVER, game, -1, -1, winner, 0);
+        }
+    }
+
+    // Tüm maç döngüleri paylaşır; kilit yalnızca bir bellek kopyası süresince tutulur
+    private synchronized void append(byte type, int game, int a, int b, String text, long value) {
+        int length = encode(type, game, a, b, text, value);
+        if (segment.remaining() < HEADER + length) {
+            rollSegment();
+        }
+        crc.reset();
+        crc.update(scratch, 0, length);
+        int position = segment.position();
+        segment.position(position + HEADER);
+        segment.put(scratch, 0, length);
+        segment.putInt(position + 2, (int) crc.getValue());
+        segment.putShort(position, (short) length); // Uzunluk en son: okuyucu yarım kaydı sonu sayar
+        dirty = true;
+    }
+
+    // Gövdeyi scratch'e yazar; uzunluğu döner
+    private int encode(byte type, int game, int a, int b, String text, long value) {
+        ByteBuffer body = ByteBuffer.wrap(scratch).order(ByteOrder.BIG_ENDIAN);
+        body.put(type).putInt(game).putLong(System.currentTimeMillis());
+        switch (type) {
+            case PLAYER_JOINED, ROLE_ASSIGNED -> {
+                body.putShort((short) a);
+                putText(body, text);
+            }
+            case PLAYER_LEFT -> body.putShort((short) a);
+            case PHASE -> body.put((byte) b).putLong(value);
+            case NIGHT_ACTION, VOTE -> body.putShort((short) a).putShort((short) b);
+            case DEATH -> body.putShort((short) a).put((byte) b);
+            case GAME_OVER -> putText(body, text);
+            case SESSION -> {
+                body.putShort((short) a).put((byte) b);
+                putText(body, text);
+            }
+            case SERVER_START -> {
+            }
+            default -> throw new IllegalArgumentException("Bilinmeyen kayıt türü: " + type);
+        }
+        return body.position();
+    }
+
+    private static void putText(ByteBuffer body, String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        int length = Math.min(bytes.length, 255);
+        // Çok baytlı bir karakterin ortasından kesilmez (devam baytları 10xxxxxx)
+        while (length < bytes.length && (bytes[length] & 0xC0) == 0x80) {
+            length--;
+        }
+        body.put((byte) length).put(bytes, 0, length);
+    }
+
+    private void rollSegment() {
+        segment.force();
+        segmentIndex++;
+        openSegment();
+    }
+
+    private void openSegment() {
+        Path file = JournalReader.segmentPath(dir, segmentIndex);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        segment.order(ByteOrder.BIG_ENDIAN);
+        // Yeniden başlatmada son parçanın dolu kısmının sonuna konumlan
+        segment.position(JournalReader.endOfRecords(segment));
+    }
+
+    // Yazıcıyla aynı anda çağrılabilir; force yalnızca kirli sayfaları indirir
+    void flush() {
+        if (!dirty) {
+            return;
+        }
+        dirty = false;
+        MappedByteBuffer current;
+        synchronized (this) {
+            current = segment;
+        }
+        current.force();
+    }
+}
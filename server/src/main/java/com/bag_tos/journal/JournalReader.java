@@ -0,0 +1,142 @@
+package com.bag_tos.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+// Günlük parçalarını sırayla okur; her geçerli kayıt için bir JournalRecord verir
+public final class JournalReader {
+    private static final String PREFIX = "journal-";
+    private static final String SUFFIX = ".log";
+
+    public record JournalRecord(byte type, int game, long time, int player, int target, long value, String text) {
+    }
+
+    static Path segmentPath(Path dir, int index) {
+        return dir.resolve(String.format("%s%06d%s", PREFIX, index, SUFFIX));
+    }
+
+    static List<Path> segments(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(f -> f.getFileName().toString().startsWith(PREFIX) && f.getFileName().toString().endsWith(SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    // Yazmaya devam edilecek parça; hiç yoksa 1
+    static int lastSegmentIndex(Path dir) throws IOException {
+        List<Path> files = segments(dir);
+        if (files.isEmpty()) {
+            return 1;
+        }
+        String name = files.get(files.size() - 1).getFileName().toString();
+        return Integer.parseInt(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    // Son geçerli kaydın bittiği yer
+    static int endOfRecords(ByteBuffer segment) {
+        ByteBuffer view = segment.duplicate().order(ByteOrder.BIG_ENDIAN);
+        view.position(0);
+        while (next(view, null)) {
+            // yalnızca ilerle
+        }
+        return view.position();
+    }
+
+    public static void read(Path dir, Consumer<JournalRecord> consumer) throws IOException {
+        for (Path file : segments(dir)) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                segment.order(ByteOrder.BIG_ENDIAN);
+                while (next(segment, consumer)) {
+                    // kayıtlar consumer'a gider
+                }
+            }
+        }
+    }
+
+    // Geçerli bir kayıt varsa okuyup ilerler
+    private static boolean next(ByteBuffer segment, Consumer<JournalRecord> consumer) {
+        int start = segment.position();
+        if (segment.remaining() < Journal.HEADER + Journal.BODY_HEADER) {
+            return false;
+        }
+        int length = segment.getShort(start) & 0xFFFF;
+        if (length < Journal.BODY_HEADER || start + Journal.HEADER + length > segment.limit()) {
+            return false;
+        }
+        CRC32C crc = new CRC32C();
+        ByteBuffer body = segment.slice(start + Journal.HEADER, length).order(ByteOrder.BIG_ENDIAN);
+        crc.update(body.duplicate());
+        if ((int) crc.getValue() != segment.getInt(start + 2)) {
+            return false; // Yarım yazılmış kayıt
+        }
+        segment.position(start + Journal.HEADER + length);
+        if (consumer != null) {
+            consumer.accept(decode(body));
+        }
+        return true;
+    }
+
+    private static JournalRecord decode(ByteBuffer body) {
+        byte type = body.get();
+        int game = body.getInt();
+        long time = body.getLong();
+        int player = -1;
+        int target = -1;
+        long value = 0;
+        String text = null;
+        switch (type) {
+            case Journal.PLAYER_JOINED, Journal.ROLE_ASSIGNED -> {
+                player = body.getShort() & 0xFFFF;
+                text = text(body);
+            }
+            case Journal.PLAYER_LEFT -> player = body.getShort() & 0xFFFF;
+            case Journal.PHASE -> {
+                target = body.get();
+                value = body.getLong();
+            }
+            case Journal.NIGHT_ACTION, Journal.VOTE -> {
+                player = body.getShort() & 0xFFFF;
+                target = body.getShort() & 0xFFFF;
+            }
+            case Journal.DEATH -> {
+                player = body.getShort() & 0xFFFF;
+                target = body.get();
+            }
+            case Journal.GAME_OVER -> text = text(body);
+            case Journal.SESSION -> {
+                player = body.getShort() & 0xFFFF;
+                target = body.get();
+                text = text(body);
+            }
+            default -> {
+                // Bilinmeyen tür: yeni sürümün kaydı, başlık yine okunur
+            }
+        }
+        return new JournalRecord(type, game, time, player, target, value, text);
+    }
+
+    private static String text(ByteBuffer body) {
+        byte[] bytes = new byte[body.get() & 0xFF];
+        body.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private JournalReader() {
+    }
+}
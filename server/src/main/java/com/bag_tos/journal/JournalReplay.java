@@ -0,0 +1,265 @@
+package com.bag_tos.journal;
+
+import com.bag_tos.journal.JournalReader.JournalRecord;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.*;
+
+// Günlükten maç durumlarını yeniden kurar: oyuncular, oturum jetonları, roller, canlılar, faz, gece hedefleri,
+// oylar ve sonuç. Sunucu açılışta son açılışın yarıda kalan maçlarını (interrupted) buradan alıp sürdürür
+// (RoomHandler.recover); main aynı durumu çevrimdışı inceleme için yazdırır.
+//
+// Kullanım: java -cp server.jar com.bag_tos.journal.JournalReplay [günlük dizini] [açılış#maç]
+// Maç verilirse o maçın olayları sırayla yazdırılır.
+public final class JournalReplay {
+    private static final String[] PHASES = {"GECE", "GÜNDÜZ"};
+    private static final String[] CAUSES = {"olduruldu", "asildi", "ayrildi"};
+
+    public static final class ReplayedGame {
+        private final int run;
+        private final int game;
+        private final List<String> players = new ArrayList<>();
+        private final List<String> tokens = new ArrayList<>();
+        private final List<Boolean> binary = new ArrayList<>();
+        private final List<String> roles = new ArrayList<>();
+        private final BitSet alive = new BitSet();
+        private final BitSet left = new BitSet(); // Oyundan ayrılarak ölenler; oturumları kapanmıştı
+        private final Map<Integer, Integer> nightActions = new TreeMap<>();
+        private final Map<Integer, Integer> votes = new TreeMap<>();
+        // Gündüz oyları geliş sırasıyla; {oyuncu, -1}: oyuncu ayrıldı, oyu ve ona verilenler geri alındı.
+        // Eşitlikte önde kalan sıraya bağlı olduğu için kurtarmada aynı sırayla yeniden sayılır.
+        private final List<int[]> voteLog = new ArrayList<>();
+        private final List<String> timeline = new ArrayList<>();
+        private int phase = -1;
+        private long deadline;
+        private int rounds;
+        private String winner;
+
+        ReplayedGame(int run, int game) {
+            this.run = run;
+            this.game = game;
+        }
+
+        void apply(JournalRecord r) {
+            switch (r.type()) {
+                case Journal.PLAYER_JOINED -> {
+                    if (r.player() > players.size()) {
+                        return; // Önceki kayıtlar eksik (silinmiş parça)
+                    }
+                    players.add(r.player(), r.text());
+                    tokens.add(r.player(), null);
+                    binary.add(r.player(), false);
+                    roles.add(r.player(), null);
+                    event(r, r.text() + " katildi");
+                }
+                case Journal.PLAYER_LEFT -> {
+                    event(r, name(r.player()) + " lobiden ayrildi");
+                    players.remove(r.player());
+                    tokens.remove(r.player());
+                    binary.remove(r.player());
+                    roles.remove(r.player());
+                }
+                case Journal.SESSION -> {
+                    if (r.player() < tokens.size()) {
+                        tokens.set(r.player(), r.text());
+                        binary.set(r.player(), r.target() == 1);
+                    }
+                }
+                case Journal.ROLE_ASSIGNED -> {
+                    roles.set(r.player(), r.text());
+                    alive.set(r.player());
+                    event(r, name(r.player()) + " -> " + r.text());
+                }
+                case Journal.PHASE -> {
+                    phase = r.target();
+                    deadline = r.value();
+                    if (phase == 0) {
+                        rounds++;
+                        nightActions.clear();
+                    } else {
+                        votes.clear();
+                        voteLog.clear();
+                    }
+                    event(r, PHASES[phase] + " " + rounds);
+                }
+                case Journal.NIGHT_ACTION -> {
+                    nightActions.put(r.player(), r.target());
+                    event(r, name(r.player()) + " gece hedefi " + name(r.target()));
+                }
+                case Journal.VOTE -> {
+                    votes.put(r.player(), r.target());
+                    voteLog.add(new int[]{r.player(), r.target()});
+                    event(r, name(r.player()) + " oy -> " + name(r.target()));
+                }
+                case Journal.DEATH -> {
+                    alive.clear(r.player());
+                    if (r.target() == Journal.LEFT) {
+                        left.set(r.player());
+                        if (phase == 1) {
+                            voteLog.add(new int[]{r.player(), -1});
+                        }
+                    }
+                    votes.remove(r.player());
+                    votes.values().removeIf(target -> target == r.player());
+                    event(r, name(r.player()) + " " + CAUSES[r.target()]);
+                }
+                case Journal.GAME_OVER -> {
+                    winner = r.text();
+                    event(r, "kazanan: " + winner);
+                }
+                default -> {
+                }
+            }
+        }
+
+        private String name(int player) {
+            return player >= 0 && player < players.size() ? players.get(player) : "#" + player;
+        }
+
+        private void event(JournalRecord r, String text) {
+            timeline.add(new SimpleDateFormat("HH:mm:ss.SSS").format(new Date(r.time())) + " " + text);
+        }
+
+        public String getKey() {
+            return run + "#" + game;
+        }
+
+        public boolean isFinished() {
+            return winner != null;
+        }
+
+        public List<String> getPlayers() {
+            return players;
+        }
+
+        // Oturum kaydı olmayan (eski günlük) oyuncu için null
+        public List<String> getTokens() {
+            return tokens;
+        }
+
+        public List<Boolean> getBinary() {
+            return binary;
+        }
+
+        public List<String> getRoles() {
+            return roles;
+        }
+
+        public BitSet getAlive() {
+            return alive;
+        }
+
+        public BitSet getLeft() {
+            return left;
+        }
+
+        public int getPhase() {
+            return phase;
+        }
+
+        public long getDeadline() {
+            return deadline;
+        }
+
+        public Map<Integer, Integer> getNightActions() {
+            return nightActions;
+        }
+
+        public Map<Integer, Integer> getVotes() {
+            return votes;
+        }
+
+        public List<int[]> getVoteLog() {
+            return voteLog;
+        }
+
+        public String getWinner() {
+            return winner;
+        }
+
+        public List<String> getTimeline() {
+            return timeline;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder("Maç ").append(getKey()).append(": ");
+            if (winner != null) {
+                text.append("bitti, kazanan ").append(winner);
+            } else if (phase < 0) {
+                text.append("lobide");
+            } else {
+                text.append(PHASES[phase]).append(' ').append(rounds).append(", yarıda kaldı");
+            }
+            text.append(" | ");
+            for (int i = 0; i < players.size(); i++) {
+                text.append(players.get(i));
+                if (roles.get(i) != null) {
+                    text.append('(').append(roles.get(i)).append(alive.get(i) ? "" : ", ölü").append(')');
+                }
+                text.append(i + 1 < players.size() ? ", " : "");
+            }
+            if (winner == null && phase == 0 && !nightActions.isEmpty()) {
+                text.append(" | gece hedefleri ");
+                nightActions.forEach((p, t) -> text.append(name(p)).append("->").append(name(t)).append(' '));
+            }
+            if (winner == null && phase == 1 && !votes.isEmpty()) {
+                text.append(" | oylar ");
+                votes.forEach((p, t) -> text.append(name(p)).append("->").append(name(t)).append(' '));
+            }
+            return text.toString();
+        }
+    }
+
+    // Anahtar: "<açılış>#<maç>"; açılış, günlükteki SERVER_START sırasıdır
+    public static Map<String, ReplayedGame> replay(Path dir) throws IOException {
+        Map<String, ReplayedGame> games = new LinkedHashMap<>();
+        read(dir, games);
+        return games;
+    }
+
+    // Son açılışta başlamış ama bitmemiş maçlar; daha eski açılışlarınkiler sonraki açılışta zaten
+    // kurtarılıp yeniden yazılmıştır. Journal.open yeni SERVER_START eklemeden önce çağrılmalı.
+    public static List<ReplayedGame> interrupted(Path dir) throws IOException {
+        Map<String, ReplayedGame> games = new LinkedHashMap<>();
+        int lastRun = read(dir, games);
+        return games.values().stream().filter(g -> g.run == lastRun && !g.isFinished() && g.getPhase() >= 0).toList();
+    }
+
+    // Açılış sayısını döner
+    private static int read(Path dir, Map<String, ReplayedGame> games) throws IOException {
+        int[] run = {0};
+        JournalReader.read(dir, r -> {
+            if (r.type() == Journal.SERVER_START) {
+                run[0]++;
+                return;
+            }
+            games.computeIfAbsent(run[0] + "#" + r.game(), k -> new ReplayedGame(run[0], r.game())).apply(r);
+        });
+        return run[0];
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path dir = Path.of(args.length > 0 ? args[0] : "journal");
+        Map<String, ReplayedGame> games = replay(dir);
+        if (args.length > 1) {
+            ReplayedGame game = games.get(args[1]);
+            if (game == null) {
+                System.out.println("Maç bulunamadı: " + args[1]);
+                return;
+            }
+            game.getTimeline().forEach(System.out::println);
+            System.out.println(game);
+            return;
+        }
+        long finished = games.values().stream().filter(ReplayedGame::isFinished).count();
+        System.out.println(games.size() + " maç, " + finished + " bitmiş");
+        // Lobide kalanlar incelenecek bir durum taşımaz
+        games.values().stream().filter(g -> !g.isFinished() && g.getPhase() >= 0).forEach(System.out::println);
+    }
+
+    private JournalReplay() {
+    }
+}
@@ -0,0 +1,244 @@
+package com.bag_tos.log;
+
+import com.bag_tos.metrics.Counter;
+import com.bag_tos.metrics.Metrics;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Eşzamansız, seviyeli günlük. Çağıran thread yalnızca kilitsiz bir halka tampona şablon ve argümanları
+// koyar; biçimlendirme ve stdout'a yazma tek bir arka plan thread'inde yapılır. Kapalı seviyedeki
+// çağrılar seviye kontrolünden sonra hiçbir iş yapmaz. Argüman sayısına göre ayrı metotlar vardır
+// (varargs dizisi oluşmasın); şablondaki her {} sırayla bir argümanla değiştirilir.
+// Tampon dolarsa kayıt düşürülür ve log.dropped sayacı artar; oyun thread'leri hiçbir zaman beklemez.
+public final class Log {
+    public enum Level {
+        DEBUG, INFO, WARN, ERROR
+    }
+
+    static final int CAPACITY = Integer.highestOneBit(Math.max(64, Integer.getInteger("bagtos.logBuffer", 8192)));
+    private static final int MASK = CAPACITY - 1;
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm:ss.SSS");
+    private static final Counter DROPPED = Metrics.counter("log.dropped");
+
+    private static volatile Level level = Level.valueOf(System.getProperty("bagtos.logLevel", "info").toUpperCase());
+
+    // Sıra numaralı yuvalar (Vyukov): yuva, sequence == pozisyon iken yazılabilir, pozisyon + 1 iken okunabilir
+    private static final Entry[] slots = new Entry[CAPACITY];
+    private static final AtomicLong tail = new AtomicLong();
+    private static long head; // Yalnızca yazıcı thread
+    private static final Writer STDOUT = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(FileDescriptor.out), StandardCharsets.UTF_8), 16 * 1024);
+    private static volatile Writer output = STDOUT;
+    private static final Thread writer;
+
+    static {
+        for (int i = 0; i < CAPACITY; i++) {
+            slots[i] = new Entry(i);
+        }
+        writer = new Thread(Log::writeLoop, "log-writer");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(Log::drainOnExit, "log-flush"));
+    }
+
+    private static final class Entry {
+        volatile long sequence;
+        long time;
+        Level level;
+        String thread;
+        String template;
+        Object a, b, c;
+
+        Entry(long sequence) {
+            this.sequence = sequence;
+        }
+    }
+
+    public static void setLevel(Level newLevel) {
+        level = newLevel;
+    }
+
+    public static Level getLevel() {
+        return level;
+    }
+
+    public static boolean isEnabled(Level l) {
+        return l.ordinal() >= level.ordinal();
+    }
+
+    public static boolean isDebug() {
+        return level == Level.DEBUG;
+    }
+
+    public static void debug(String message) {
+        if (level == Level.DEBUG) {
+            publish(Level.DEBUG, message, null, null, null);
+        }
+    }
+
+    public static void debug(String template, Object a) {
+        if (level == Level.DEBUG) {
+            publish(Level.DEBUG, template, a, null, null);
+        }
+    }
+
+    public static void debug(String template, Object a, Object b) {
+        if (level == Level.DEBUG) {
+            publish(Level.DEBUG, template, a, b, null);
+        }
+    }
+
+    public static void debug(String template, Object a, Object b, Object c) {
+        if (level == Level.DEBUG) {
+            publish(Level.DEBUG, template, a, b, c);
+        }
+    }
+
+    public static void info(String message) {
+        if (isEnabled(Level.INFO)) {
+            publish(Level.INFO, message, null, null, null);
+        }
+    }
+
+    public static void info(String template, Object a) {
+        if (isEnabled(Level.INFO)) {
+            publish(Level.INFO, template, a, null, null);
+        }
+    }
+
+    public static void info(String template, Object a, Object b) {
+        if (isEnabled(Level.INFO)) {
+            publish(Level.INFO, template, a, b, null);
+        }
+    }
+
+    public static void info(String template, Object a, Object b, Object c) {
+        if (isEnabled(Level.INFO)) {
+            publish(Level.INFO, template, a, b, c);
+        }
+    }
+
+    public static void warn(String message) {
+        if (isEnabled(Level.WARN)) {
+            publish(Level.WARN, message, null, null, null);
+        }
+    }
+
+    public static void warn(String template, Object a) {
+        if (isEnabled(Level.WARN)) {
+            publish(Level.WARN, template, a, null, null);
+        }
+    }
+
+    // Son argüman Throwable ise yığın izi de yazılır
+    public static void error(String message, Throwable error) {
+        publish(Level.ERROR, message, error, null, null);
+    }
+
+    private static void publish(Level l, String template, Object a, Object b, Object c) {
+        long pos;
+        Entry entry;
+        while (true) {
+            pos = tail.get();
+            entry = slots[(int) (pos & MASK)];
+            long diff = entry.sequence - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    break;
+                }
+            } else if (diff < 0) {
+                DROPPED.increment(); // Tampon dolu
+                return;
+            }
+            // diff > 0: başka bir üretici bu yuvayı aldı, yeniden dene
+        }
+        entry.time = System.currentTimeMillis();
+        entry.level = l;
+        entry.thread = Thread.currentThread().getName();
+        entry.template = template;
+        entry.a = a;
+        entry.b = b;
+        entry.c = c;
+        entry.sequence = pos + 1; // Yayınla
+    }
+
+    private static void writeLoop() {
+        StringBuilder line = new StringBuilder(256);
+        while (true) {
+            int written = drain(output, line);
+            if (written == 0) {
+                LockSupport.parkNanos(1_000_000); // Boşta 1 ms
+            }
+        }
+    }
+
+    // Okunabilir tüm kayıtları yazar ve bir kez flush eder
+    private static synchronized int drain(Writer out, StringBuilder line) {
+        int written = 0;
+        try {
+            while (true) {
+                Entry entry = slots[(int) (head & MASK)];
+                if (entry.sequence != head + 1) {
+                    break;
+                }
+                format(entry, line);
+                out.append(line);
+                line.setLength(0);
+                entry.template = null;
+                entry.thread = null;
+                entry.a = entry.b = entry.c = null;
+                entry.sequence = head + CAPACITY; // Yuvayı üreticilere geri ver
+                head++;
+                written++;
+            }
+            if (written > 0) {
+                out.flush();
+            }
+        } catch (IOException e) {
+            // stdout kapandı; kayıtlar atlanır
+        }
+        return written;
+    }
+
+    // Testler kayıtları yakalamak için kullanır; null ise stdout
+    static void setOutput(Writer out) {
+        output = out != null ? out : STDOUT;
+    }
+
+    // Kapanışta tamponda kalanlar kaybolmasın
+    private static void drainOnExit() {
+        drain(new OutputStreamWriter(new FileOutputStream(FileDescriptor.out), StandardCharsets.UTF_8), new StringBuilder(256));
+    }
+
+    private static void format(Entry entry, StringBuilder line) {
+        line.append(TIME.format(LocalTime.ofInstant(Instant.ofEpochMilli(entry.time), ZoneId.systemDefault())))
+                .append(' ').append(entry.level)
+                .append(" [").append(entry.thread).append("] ");
+        String template = entry.template;
+        Object[] args = {entry.a, entry.b, entry.c};
+        int arg = 0;
+        int from = 0;
+        int at;
+        while ((at = template.indexOf("{}", from)) >= 0 && arg < args.length) {
+            line.append(template, from, at).append(args[arg++]);
+            from = at + 2;
+        }
+        line.append(template, from, template.length()).append('\n');
+        for (Object value : args) {
+            if (value instanceof Throwable t) {
+                StringWriter trace = new StringWriter();
+                t.printStackTrace(new PrintWriter(trace));
+                line.append(trace);
+            }
+        }
+    }
+
+    private Log() {
+    }
+}
@@ -0,0 +1,24 @@
+package com.bag_tos.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Çok thread'den çekişmesiz artırılan sayaç; azaltılabilir (ör. aktif bağlantı)
+public final class Counter {
+    private final LongAdder value = new LongAdder();
+
+    public void increment() {
+        value.increment();
+    }
+
+    public void decrement() {
+        value.decrement();
+    }
+
+    public void add(long delta) {
+        value.add(delta);
+    }
+
+    public long get() {
+        return value.sum();
+    }
+}
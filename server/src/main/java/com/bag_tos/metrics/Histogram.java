@@ -0,0 +1,86 @@
+package com.bag_tos.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Logaritmik kovalı, kilitsiz histogram (~%12 çözünürlük). Birim isimde belirtilir (ör. .us).
+// Yazma bir kova artırımıdır; yüzdelikler yalnızca okumada hesaplanır.
+public final class Histogram {
+    private static final int SUB_BUCKETS = 8;
+
+    private final LongAdder[] buckets = new LongAdder[64 * SUB_BUCKETS];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    Histogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        buckets[index(value)].increment();
+        count.increment();
+        sum.add(value);
+        long current = max.get();
+        while (value > current && !max.compareAndSet(current, value)) {
+            current = max.get();
+        }
+    }
+
+    // nanoTime farkını mikrosaniye olarak kaydeder
+    public void recordNanos(long startNanos) {
+        record((System.nanoTime() - startNanos) / 1000);
+    }
+
+    private static int index(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int mantissa = (int) ((value >>> (exponent - 3)) & (SUB_BUCKETS - 1));
+        return exponent * SUB_BUCKETS + mantissa;
+    }
+
+    private static long upperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS;
+        int mantissa = index % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + mantissa + 1) << (exponent - 3)) - 1;
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    public long max() {
+        return max.get();
+    }
+
+    public long mean() {
+        long n = count.sum();
+        return n == 0 ? 0 : sum.sum() / n;
+    }
+
+    public long percentile(double p) {
+        long n = count.sum();
+        if (n == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(n * p));
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i].sum();
+            if (seen >= rank) {
+                return Math.min(upperBound(i), max.get());
+            }
+        }
+        return max.get();
+    }
+}
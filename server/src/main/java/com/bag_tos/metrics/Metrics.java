@@ -0,0 +1,52 @@
+package com.bag_tos.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+// Süreç içi metrik kaydı. Sayaç ve histogramlar ad ile bir kez alınıp alanda tutulur, sıcak yolda
+// arama yapılmaz. Anlık görüntü hem JMX'e hem de düz metin uç noktasına verilir.
+public final class Metrics {
+    private static final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private static final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+    private static final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+    public static Counter counter(String name) {
+        return counters.computeIfAbsent(name, k -> new Counter());
+    }
+
+    // Okunduğu anda hesaplanan değer; aynı adla yeniden kaydedilirse sonuncusu geçerlidir
+    public static void gauge(String name, LongSupplier supplier) {
+        gauges.put(name, supplier);
+    }
+
+    public static Histogram histogram(String name) {
+        return histograms.computeIfAbsent(name, k -> new Histogram());
+    }
+
+    // Ada göre sıralı, düzleştirilmiş değerler; histogramlar count/mean/p50/p90/p99/max olarak açılır
+    public static Map<String, Long> snapshot() {
+        Map<String, Long> values = new TreeMap<>();
+        counters.forEach((name, counter) -> values.put(name, counter.get()));
+        gauges.forEach((name, gauge) -> values.put(name, gauge.getAsLong()));
+        histograms.forEach((name, histogram) -> {
+            values.put(name + ".count", histogram.count());
+            values.put(name + ".mean", histogram.mean());
+            values.put(name + ".p50", histogram.percentile(0.50));
+            values.put(name + ".p90", histogram.percentile(0.90));
+            values.put(name + ".p99", histogram.percentile(0.99));
+            values.put(name + ".max", histogram.max());
+        });
+        return values;
+    }
+
+    public static String render() {
+        StringBuilder text = new StringBuilder();
+        snapshot().forEach((name, value) -> text.append(name).append(' ').append(value).append('\n'));
+        return text.toString();
+    }
+
+    private Metrics() {
+    }
+}
@@ -0,0 +1,62 @@
+package com.bag_tos.metrics;
+
+import javax.management.*;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+// Kayıttaki her değeri salt okunur bir JMX özniteliği olarak gösterir (jconsole: com.bag_tos:type=Metrics).
+// Öznitelik listesi her sorguda kayıttan üretilir, sonradan eklenen metrikler de görünür.
+final class MetricsMBean implements DynamicMBean {
+
+    static void register() throws JMException {
+        ManagementFactory.getPlatformMBeanServer().registerMBean(new MetricsMBean(), new ObjectName("com.bag_tos:type=Metrics"));
+    }
+
+    @Override
+    public Object getAttribute(String attribute) throws AttributeNotFoundException {
+        Long value = Metrics.snapshot().get(attribute);
+        if (value == null) {
+            throw new AttributeNotFoundException(attribute);
+        }
+        return value;
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] attributes) {
+        Map<String, Long> values = Metrics.snapshot();
+        AttributeList list = new AttributeList();
+        for (String attribute : attributes) {
+            Long value = values.get(attribute);
+            if (value != null) {
+                list.add(new Attribute(attribute, value));
+            }
+        }
+        return list;
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        Map<String, Long> values = Metrics.snapshot();
+        MBeanAttributeInfo[] attributes = new MBeanAttributeInfo[values.size()];
+        int i = 0;
+        for (String name : values.keySet()) {
+            attributes[i++] = new MBeanAttributeInfo(name, "long", name, true, false, false);
+        }
+        return new MBeanInfo(getClass().getName(), "BAG_TOS sunucu metrikleri", attributes, null, null, null);
+    }
+
+    @Override
+    public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+        throw new AttributeNotFoundException("Metrikler salt okunur: " + attribute.getName());
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+        return new AttributeList();
+    }
+
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature) throws MBeanException {
+        throw new MBeanException(new UnsupportedOperationException(actionName));
+    }
+}
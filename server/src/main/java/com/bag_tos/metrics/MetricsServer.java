@@ -0,0 +1,39 @@
+package com.bag_tos.metrics;
+
+import com.bag_tos.log.Log;
+import com.sun.net.httpserver.HttpServer;
+
+import javax.management.JMException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+// Metrikleri JMX'e kaydeder ve yalnızca yerel arayüzde düz metin olarak sunar: curl localhost:<port>/metrics
+public final class MetricsServer {
+
+    public static void start(int port) throws IOException {
+        try {
+            MetricsMBean.register();
+        } catch (JMException e) {
+            Log.error("Metrikler JMX'e kaydedilemedi", e);
+        }
+        if (port <= 0) {
+            return; // Yalnızca JMX
+        }
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/metrics", exchange -> {
+            byte[] body = Metrics.render().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start(); // Varsayılan executor: istekler HttpServer'ın kendi thread'inde
+    }
+
+    private MetricsServer() {
+    }
+}
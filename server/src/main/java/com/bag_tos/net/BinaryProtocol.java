@@ -0,0 +1,144 @@
+package com.bag_tos.net;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+// İkili mod: istemci el sıkışmadan önce "/ikili" satırını gönderir, sunucu "PROTOKOL:IKILI" ile onaylar
+// ve iki yön de uzunluk önekli çerçevelere geçer:
+//   [u16 uzunluk][u8 opcode][veri...]   (uzunluk = opcode + veri, big-endian)
+// Oyuncular kullanıcı adı yerine maç içindeki u16 numaralarıyla taşınır.
+public final class BinaryProtocol {
+    public static final String NEGOTIATE = "/ikili";
+    public static final String ACK = "PROTOKOL:IKILI";
+    public static final int MAX_FRAME_LENGTH = 0xFFFF;
+
+    // İstemci -> sunucu
+    public static final int C_USERNAME = 0x01;   // utf8 ad
+    public static final int C_CHAT = 0x02;       // utf8 mesaj
+    public static final int C_VOTE = 0x03;       // u16 hedef
+    public static final int C_KILL = 0x04;       // u16 hedef
+    public static final int C_HEAL = 0x05;       // u16 hedef
+    public static final int C_MAFIA_CHAT = 0x06; // utf8 mesaj
+    public static final int C_READY = 0x07;
+    public static final int C_START = 0x08;
+    public static final int C_RESUME = 0x09;     // i64 alınan çerçeve sayısı, utf8 oturum jetonu (el sıkışma yerine)
+    public static final int C_WATCH = 0x0A;      // i32 maç numarası; izleyici olarak bağlanır (el sıkışma yerine)
+    public static final int C_INVESTIGATE = 0x0B; // u16 hedef
+    public static final int C_PONG = 0x0C;       // S_PING yanıtı
+
+    // Sunucu -> istemci
+    public static final int S_TEXT = 0x40;          // utf8, ikili karşılığı olmayan her mesaj
+    public static final int S_PHASE = 0x41;         // u8 faz (0 gece, 1 gündüz)
+    public static final int S_DEADLINE = 0x42;      // i64 faz bitişi, epoch ms
+    public static final int S_CHAT = 0x43;          // u16 oyuncu, utf8 mesaj
+    public static final int S_MAFIA_CHAT = 0x44;    // u16 oyuncu, utf8 mesaj
+    public static final int S_KILLED = 0x45;        // u16 oyuncu
+    public static final int S_HANGED = 0x46;        // u16 oyuncu
+    public static final int S_PLAYER_JOINED = 0x47; // u16 oyuncu, utf8 ad
+    public static final int S_ACTION_PROMPT = 0x48; // u8 beklenen istemci opcode'u
+    public static final int S_GAME_OVER = 0x49;     // utf8 kazanan
+    public static final int S_VOTE = 0x4A;          // u16 oy veren, u16 hedef, u16 hedefin oy sayısı
+    public static final int S_PLAYER_LEFT = 0x4B;   // u16 oyuncu; lobide sonraki numaralar bir kayar
+    public static final int S_SESSION = 0x4C;       // utf8 oturum jetonu; çerçeve sayımı bundan sonra başlar
+    public static final int S_RESUMED = 0x4D;       // i64 tekrar gönderilen ilk çerçeveden önceki sayı
+    public static final int S_INVESTIGATION = 0x4E; // u16 hedef, u8 1: mafya
+    public static final int S_PING = 0x4F;          // Canlılık yoklaması; sayılmaz, C_PONG beklenir
+
+    private BinaryProtocol() {
+    }
+
+    public static byte[] text(String message) {
+        return withText(S_TEXT, -1, message);
+    }
+
+    public static byte[] phase(int phase) {
+        return allocate(S_PHASE, 1).put((byte) phase).array();
+    }
+
+    public static byte[] deadline(long epochMillis) {
+        return allocate(S_DEADLINE, 8).putLong(epochMillis).array();
+    }
+
+    public static byte[] chat(int playerId, String message) {
+        return withText(S_CHAT, playerId, message);
+    }
+
+    public static byte[] mafiaChat(int playerId, String message) {
+        return withText(S_MAFIA_CHAT, playerId, message);
+    }
+
+    public static byte[] killed(int playerId) {
+        return allocate(S_KILLED, 2).putShort((short) playerId).array();
+    }
+
+    public static byte[] hanged(int playerId) {
+        return allocate(S_HANGED, 2).putShort((short) playerId).array();
+    }
+
+    public static byte[] playerJoined(int playerId, String username) {
+        return withText(S_PLAYER_JOINED, playerId, username);
+    }
+
+    public static byte[] playerLeft(int playerId) {
+        return allocate(S_PLAYER_LEFT, 2).putShort((short) playerId).array();
+    }
+
+    public static byte[] investigation(int target, boolean suspicious) {
+        return allocate(S_INVESTIGATION, 3).putShort((short) target).put((byte) (suspicious ? 1 : 0)).array();
+    }
+
+    public static byte[] session(String token) {
+        return withText(S_SESSION, -1, token);
+    }
+
+    public static byte[] resumed(long count) {
+        return allocate(S_RESUMED, 8).putLong(count).array();
+    }
+
+    public static byte[] ping() {
+        return allocate(S_PING, 0).array();
+    }
+
+    public static byte[] actionPrompt(int clientOpcode) {
+        return allocate(S_ACTION_PROMPT, 1).put((byte) clientOpcode).array();
+    }
+
+    public static byte[] gameOver(String winner) {
+        return withText(S_GAME_OVER, -1, winner);
+    }
+
+    public static byte[] vote(int voterId, int targetId, int count) {
+        return allocate(S_VOTE, 6).putShort((short) voterId).putShort((short) targetId).putShort((short) count).array();
+    }
+
+    public static String readText(ByteBuffer payload) {
+        return StandardCharsets.UTF_8.decode(payload).toString();
+    }
+
+    public static int readPlayerId(ByteBuffer payload) {
+        return payload.remaining() >= 2 ? payload.getShort() & 0xFFFF : -1;
+    }
+
+    // playerId < 0 ise oyuncu alanı yazılmaz
+    private static byte[] withText(int opcode, int playerId, String message) {
+        byte[] text = message.getBytes(StandardCharsets.UTF_8);
+        int idLength = playerId < 0 ? 0 : 2;
+        int length = Math.min(text.length, MAX_FRAME_LENGTH - 1 - idLength);
+        // Çok baytlı bir karakterin ortasından kesilmez (devam baytları 10xxxxxx)
+        while (length < text.length && (text[length] & 0xC0) == 0x80) {
+            length--;
+        }
+        ByteBuffer buffer = allocate(opcode, idLength + length);
+        if (playerId >= 0) {
+            buffer.putShort((short) playerId);
+        }
+        return buffer.put(text, 0, length).array();
+    }
+
+    private static ByteBuffer allocate(int opcode, int payloadLength) {
+        ByteBuffer buffer = ByteBuffer.allocate(3 + payloadLength);
+        buffer.putShort((short) (1 + payloadLength));
+        buffer.put((byte) opcode);
+        return buffer;
+    }
+}
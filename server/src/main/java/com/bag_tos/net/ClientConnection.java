@@ -0,0 +1,19 @@
+package com.bag_tos.net;
+
+// Bir istemci bağlantısının yazma tarafı; bloklayan soket ya da NIO kanalı olabilir
+public interface ClientConnection {
+    void send(Frame frame);
+
+    default void send(String message) {
+        send(Frame.of(message));
+    }
+
+    // Bu çağrıdan sonra gönderilen ve alınan her şey BinaryProtocol çerçevesidir
+    void switchToBinary();
+
+    void close();
+
+    // Kuyruktaki mesajlar gönderildikten sonra yazma yönü kapatılır (FIN); sonraki gönderimler atılır.
+    // Okuma tarafı istemci kapatana ya da close() çağrılana kadar açık kalır.
+    void closeAfterFlush();
+}
@@ -0,0 +1,105 @@
+package com.bag_tos.net;
+
+import com.bag_tos.log.Log;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
+
+// Bir Selector üzerinde çok sayıda bağlantıyı tek thread ile servis eden reactor döngüsü
+final class EventLoop implements Runnable {
+    private final Selector selector;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(16 * 1024);
+    final ByteBuffer[] writeBatch = new ByteBuffer[64]; // Yalnızca loop thread'i kullanır
+    private final Function<ClientConnection, LineHandler> handlerFactory;
+    private final int outboundLimit;
+    private final OverflowPolicy overflowPolicy;
+    private volatile Thread thread;
+
+    EventLoop(Function<ClientConnection, LineHandler> handlerFactory, int outboundLimit, OverflowPolicy overflowPolicy) throws IOException {
+        this.selector = Selector.open();
+        this.handlerFactory = handlerFactory;
+        this.outboundLimit = outboundLimit;
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    void register(SocketChannel channel) {
+        execute(() -> {
+            NioConnection connection = new NioConnection(this, channel, outboundLimit, overflowPolicy);
+            try {
+                SelectionKey key = channel.register(selector, SelectionKey.OP_READ, connection);
+                connection.attach(key, handlerFactory.apply(connection));
+            } catch (IOException e) {
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                }
+                return;
+            }
+            connection.handler().onConnect();
+        });
+    }
+
+    void execute(Runnable task) {
+        tasks.add(task);
+        if (Thread.currentThread() != thread) {
+            selector.wakeup();
+        }
+    }
+
+    @Override
+    public void run() {
+        thread = Thread.currentThread();
+        while (!thread.isInterrupted()) {
+            try {
+                // Loop thread'inin kendi eklediği görevler (ör. onLine içinden flush) wakeup üretmez
+                if (tasks.isEmpty()) {
+                    selector.select();
+                } else {
+                    selector.selectNow();
+                }
+            } catch (IOException e) {
+                Log.error("Selector hatası, event loop duruyor", e);
+                return;
+            }
+            runTasks();
+
+            Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+                NioConnection connection = (NioConnection) key.attachment();
+                try {
+                    if (key.isValid() && key.isReadable()) {
+                        connection.read(readBuffer);
+                    }
+                    if (key.isValid() && key.isWritable()) {
+                        connection.flush();
+                    }
+                } catch (RuntimeException e) {
+                    // Tek bir istemcideki hata tüm loop'u düşürmesin
+                    Log.error("İstemci işlenirken hata", e);
+                    connection.close();
+                }
+            }
+        }
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                Log.error("Event loop görevi başarısız", e);
+            }
+        }
+    }
+}
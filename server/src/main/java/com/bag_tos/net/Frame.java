@@ -0,0 +1,57 @@
+package com.bag_tos.net;
+
+import java.nio.charset.StandardCharsets;
+
+// Bir kez kodlanmış, değişmez mesaj. Aynı Frame tüm alıcılara olduğu gibi yazılır, alıcı başına
+// biçimlendirme ya da kodlama yapılmaz. Metin (UTF-8 satır) ve ikili (BinaryProtocol çerçevesi)
+// karşılıkları taşır; her bağlantı kendi protokolüne uyanı yazar.
+public final class Frame {
+    private final String message;
+    private final byte[] text; // Satır sonu dahil
+    private final int lines;   // Metin istemcisinin bu mesajla aldığı satır sayısı
+    private volatile byte[] binary;
+
+    private Frame(String message, byte[] binary) {
+        this.message = message;
+        this.text = (message + "\n").getBytes(StandardCharsets.UTF_8);
+        int count = 1;
+        for (byte b : text) {
+            if (b == '\n') {
+                count++;
+            }
+        }
+        this.lines = count - 1;
+        this.binary = binary;
+    }
+
+    public static Frame of(String message) {
+        return new Frame(message, null);
+    }
+
+    // İkili istemciler için anlamsal karşılığı (opcode + oyuncu numarası) olan mesajlar
+    public static Frame of(String message, byte[] binary) {
+        return new Frame(message, binary);
+    }
+
+    public int lineCount() {
+        return lines;
+    }
+
+    byte[] bytes(boolean binaryMode) {
+        if (!binaryMode) {
+            return text;
+        }
+        byte[] b = binary;
+        if (b == null) {
+            // Karşılığı olmayan mesajlar ilk ikili alıcıda bir kez S_TEXT olarak kodlanır
+            b = BinaryProtocol.text(message);
+            binary = b;
+        }
+        return b;
+    }
+
+    @Override
+    public String toString() {
+        return message;
+    }
+}
@@ -0,0 +1,87 @@
+package com.bag_tos.net;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+// Gelen baytları metin modunda '\n' ile biten satırlara, ikili modda uzunluk önekli çerçevelere ayırır.
+// Yarım kalan satır/çerçeve bir sonraki okumaya taşınır. Mod, handler geri çağrısı içinde değişebilir;
+// aynı tamponda kalan baytlar yeni moda göre çözülür.
+final class InboundDecoder {
+    static final int MAX_LINE_LENGTH = 8 * 1024;
+
+    private byte[] pending = new byte[256];
+    private int length;
+    private boolean overflow;
+    private int skip; // Sınırı aşan ikili çerçevenin atlanacak baytları
+    private boolean binary;
+
+    void switchToBinary() {
+        binary = true;
+    }
+
+    void decode(ByteBuffer buffer, LineHandler handler) {
+        while (buffer.hasRemaining()) {
+            if (binary) {
+                decodeFrame(buffer, handler);
+            } else {
+                decodeLine(buffer, handler);
+            }
+        }
+    }
+
+    private void decodeLine(ByteBuffer buffer, LineHandler handler) {
+        while (buffer.hasRemaining() && !binary) {
+            byte b = buffer.get();
+            if (b == '\n') {
+                boolean dropped = overflow;
+                int end = length > 0 && pending[length - 1] == '\r' ? length - 1 : length;
+                length = 0;
+                overflow = false;
+                if (!dropped) {
+                    handler.onLine(new String(pending, 0, end, StandardCharsets.UTF_8));
+                }
+            } else if (length == MAX_LINE_LENGTH) {
+                // Çok uzun satırlar sonuna kadar yok sayılır
+                overflow = true;
+            } else {
+                ensureCapacity(length + 1);
+                pending[length++] = b;
+            }
+        }
+    }
+
+    private void decodeFrame(ByteBuffer buffer, LineHandler handler) {
+        if (skip > 0) {
+            int n = Math.min(skip, buffer.remaining());
+            buffer.position(buffer.position() + n);
+            skip -= n;
+            return;
+        }
+        if (length < 2) {
+            pending[length++] = buffer.get();
+            return;
+        }
+        int frameLength = ((pending[0] & 0xFF) << 8) | (pending[1] & 0xFF);
+        if (frameLength == 0 || frameLength > MAX_LINE_LENGTH) {
+            skip = frameLength;
+            length = 0;
+            return;
+        }
+        int total = 2 + frameLength;
+        ensureCapacity(total);
+        int n = Math.min(total - length, buffer.remaining());
+        buffer.get(pending, length, n);
+        length += n;
+        if (length == total) {
+            length = 0;
+            handler.onFrame(pending[2] & 0xFF, ByteBuffer.wrap(pending, 3, frameLength - 1).slice());
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > pending.length) {
+            pending = Arrays.copyOf(pending, Math.max(capacity, Math.min(pending.length * 2, MAX_LINE_LENGTH + 2)));
+        }
+    }
+}
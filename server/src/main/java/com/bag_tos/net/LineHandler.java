@@ -0,0 +1,16 @@
+package com.bag_tos.net;
+
+import java.nio.ByteBuffer;
+
+// Taşıma katmanının çözdüğü satırları ve ikili çerçeveleri oyun mantığına ileten arayüz
+public interface LineHandler {
+    void onConnect();
+
+    void onLine(String line);
+
+    // payload yalnızca çağrı süresince geçerlidir
+    default void onFrame(int opcode, ByteBuffer payload) {
+    }
+
+    void onDisconnect();
+}
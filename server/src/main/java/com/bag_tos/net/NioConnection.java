@@ -0,0 +1,164 @@
+package com.bag_tos.net;
+
+import com.bag_tos.log.Log;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Tek bir event loop'a bağlı bloklamayan bağlantı. Okuma ve yazma yalnızca loop thread'inde yapılır,
+// send() ise herhangi bir thread'den çağrılabilir. Gönderim kuyruğu sınırlıdır; biriken mesajlar
+// tek bir gathering write ile gönderilir.
+final class NioConnection implements ClientConnection {
+    private final EventLoop loop;
+    private final SocketChannel channel;
+    private final InboundDecoder decoder = new InboundDecoder();
+    private final Queue<ByteBuffer> outbound = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger outboundSize = new AtomicInteger();
+    private final int outboundLimit;
+    private final OverflowPolicy overflowPolicy;
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile boolean closing;
+    private SelectionKey key;
+    private LineHandler handler;
+    private volatile boolean binary;
+
+    NioConnection(EventLoop loop, SocketChannel channel, int outboundLimit, OverflowPolicy overflowPolicy) {
+        this.loop = loop;
+        this.channel = channel;
+        this.outboundLimit = outboundLimit;
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    void attach(SelectionKey key, LineHandler handler) {
+        this.key = key;
+        this.handler = handler;
+    }
+
+    LineHandler handler() {
+        return handler;
+    }
+
+    void read(ByteBuffer buffer) {
+        int read;
+        buffer.clear();
+        try {
+            read = channel.read(buffer);
+        } catch (IOException e) {
+            read = -1;
+        }
+        if (read < 0) {
+            close();
+            return;
+        }
+        buffer.flip();
+        decoder.decode(buffer, handler);
+    }
+
+    @Override
+    public void send(Frame frame) {
+        if (closed.get() || closing) {
+            return;
+        }
+        if (outboundSize.incrementAndGet() > outboundLimit) {
+            outboundSize.decrementAndGet();
+            SocketConnection.OVERFLOW.increment();
+            if (overflowPolicy == OverflowPolicy.DISCONNECT) {
+                close();
+            }
+            return;
+        }
+        // Kodlama, gönderim anındaki protokole göre seçilir
+        outbound.add(ByteBuffer.wrap(frame.bytes(binary)).asReadOnlyBuffer());
+        if (flushScheduled.compareAndSet(false, true)) {
+            loop.execute(this::flush);
+        }
+    }
+
+    void flush() {
+        if (closed.get()) {
+            return;
+        }
+        ByteBuffer[] batch = loop.writeBatch;
+        SocketConnection.BACKLOG.record(outboundSize.get());
+        try {
+            while (true) {
+                int count = 0;
+                for (ByteBuffer buffer : outbound) {
+                    batch[count++] = buffer;
+                    if (count == batch.length) {
+                        break;
+                    }
+                }
+                if (count == 0) {
+                    break;
+                }
+                channel.write(batch, 0, count);
+                int written = 0;
+                while (written < count && !batch[written].hasRemaining()) {
+                    outbound.poll();
+                    outboundSize.decrementAndGet();
+                    written++;
+                }
+                Arrays.fill(batch, 0, count, null);
+                if (written < count) {
+                    // Soket tamponu dolu, OP_WRITE ile tekrar denenecek
+                    key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                    return;
+                }
+            }
+            key.interestOps(SelectionKey.OP_READ);
+            if (closing) {
+                channel.shutdownOutput(); // Kuyruk boşaldı, kalan her şey istemciye gitti
+                return;
+            }
+            flushScheduled.set(false);
+            // flushScheduled sıfırlanırken eklenen mesaj kaybolmasın
+            if (!outbound.isEmpty() && flushScheduled.compareAndSet(false, true)) {
+                loop.execute(this::flush);
+            }
+        } catch (IOException e) {
+            close();
+        }
+    }
+
+    // Loop thread'inde, onLine içinden çağrılır
+    @Override
+    public void switchToBinary() {
+        decoder.switchToBinary();
+        binary = true;
+    }
+
+    @Override
+    public void closeAfterFlush() {
+        closing = true;
+        if (flushScheduled.compareAndSet(false, true)) {
+            loop.execute(this::flush);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        loop.execute(() -> {
+            key.cancel();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                Log.warn("Kanal kapatılamadı: {}", e);
+            }
+            outbound.clear();
+            outboundSize.set(0);
+            handler.onDisconnect();
+        });
+    }
+}
@@ -0,0 +1,45 @@
+package com.bag_tos.net;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.function.Function;
+
+// Selector tabanlı sunucu: kabul edilen bağlantılar az sayıdaki event loop'a sırayla dağıtılır,
+// böylece bağlantı sayısı thread sayısından bağımsız olur
+public class NioServer {
+    private final int port;
+    private final EventLoop[] loops;
+    private int next = 0;
+
+    public NioServer(int port, int loopCount, int outboundLimit, OverflowPolicy overflowPolicy,
+                     Function<ClientConnection, LineHandler> handlerFactory) throws IOException {
+        this.port = port;
+        this.loops = new EventLoop[loopCount];
+        for (int i = 0; i < loopCount; i++) {
+            loops[i] = new EventLoop(handlerFactory, outboundLimit, overflowPolicy);
+        }
+    }
+
+    // Kabul döngüsü çağıran thread'de çalışır
+    public void run() throws IOException {
+        for (int i = 0; i < loops.length; i++) {
+            Thread thread = new Thread(loops[i], "nio-loop-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        try (ServerSocketChannel serverChannel = ServerSocketChannel.open()) {
+            serverChannel.bind(new InetSocketAddress(port));
+            while (true) {
+                SocketChannel channel = serverChannel.accept();
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                loops[next].register(channel);
+                next = (next + 1) % loops.length;
+            }
+        }
+    }
+}
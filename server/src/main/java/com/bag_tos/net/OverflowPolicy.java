@@ -0,0 +1,7 @@
+package com.bag_tos.net;
+
+// Bir istemcinin gönderim kuyruğu sınırı aştığında ne yapılacağı
+public enum OverflowPolicy {
+    DROP,      // Yeni mesaj atılır, bağlantı açık kalır
+    DISCONNECT // Yavaş istemcinin bağlantısı kesilir
+}
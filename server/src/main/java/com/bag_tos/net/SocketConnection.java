@@ -0,0 +1,127 @@
+package com.bag_tos.net;
+
+import com.bag_tos.log.Log;
+import com.bag_tos.metrics.Counter;
+import com.bag_tos.metrics.Histogram;
+import com.bag_tos.metrics.Metrics;
+
+import java.io.*;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+// Bağlantı başına bir thread modeli: bloklayan okuma döngüsü. Gönderilen mesajlar sınırlı
+// bir kuyruğa yazılır ve ayrı bir yazıcı thread tarafından toplu halde tek flush ile gönderilir,
+// böylece yayın yapan thread yavaş bir soket yüzünden beklemez.
+public class SocketConnection implements ClientConnection {
+    static final Histogram BACKLOG = Metrics.histogram("outbound.backlog"); // Yazma anında kuyruktaki mesaj
+    static final Counter OVERFLOW = Metrics.counter("outbound.overflow");
+    private static final byte[] SHUTDOWN = new byte[0]; // Kuyrukta bu işarete gelen yazıcı çıkışı kapatır
+
+    private final Socket socket;
+    private final InputStream in;
+    private final OutputStream out;
+    private final InboundDecoder decoder = new InboundDecoder();
+    private final BlockingQueue<byte[]> outbound;
+    private final OverflowPolicy overflowPolicy;
+    private volatile Thread writer;
+    private volatile boolean binary;
+    private volatile boolean closing;
+
+    public SocketConnection(Socket socket, int outboundLimit, OverflowPolicy overflowPolicy) throws IOException {
+        this.socket = socket;
+        this.in = socket.getInputStream();
+        this.out = new BufferedOutputStream(socket.getOutputStream(), 8 * 1024);
+        this.outbound = new ArrayBlockingQueue<>(outboundLimit);
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    // Bağlantı kapanana kadar çağıran thread'i bloklar
+    public void serve(LineHandler handler) {
+        // Yazıcı, okuyucu ile aynı türde (platform/virtual) thread'de çalışır
+        Thread.Builder builder = Thread.currentThread().isVirtual() ? Thread.ofVirtual() : Thread.ofPlatform();
+        writer = builder.name(Thread.currentThread().getName() + "-writer").start(this::writeLoop);
+        try {
+            handler.onConnect();
+            // Metin/ikili mod geçişi tampon ortasında olabileceği için baytlar doğrudan çözücüye verilir
+            byte[] buffer = new byte[4 * 1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                decoder.decode(ByteBuffer.wrap(buffer, 0, read), handler);
+            }
+        } catch (IOException e) {
+            // Bağlantı koptu, aşağıda temizleniyor
+        } finally {
+            close();
+            handler.onDisconnect();
+        }
+    }
+
+    private void writeLoop() {
+        List<byte[]> batch = new ArrayList<>();
+        try {
+            while (true) {
+                batch.add(outbound.take());
+                outbound.drainTo(batch);
+                BACKLOG.record(batch.size());
+                for (byte[] bytes : batch) {
+                    if (bytes == SHUTDOWN) {
+                        out.flush();
+                        socket.shutdownOutput();
+                        return;
+                    }
+                    out.write(bytes);
+                }
+                out.flush(); // Kuyrukta biriken her şey tek seferde
+                batch.clear();
+            }
+        } catch (InterruptedException | IOException e) {
+            close();
+        }
+    }
+
+    @Override
+    public void send(Frame frame) {
+        if (closing) {
+            return;
+        }
+        // Kodlama, gönderim anındaki protokole göre seçilir
+        if (!outbound.offer(frame.bytes(binary))) {
+            OVERFLOW.increment();
+            if (overflowPolicy == OverflowPolicy.DISCONNECT) {
+                close();
+            }
+        }
+    }
+
+    // Okuyucu thread'de, onLine içinden çağrılır
+    @Override
+    public void switchToBinary() {
+        decoder.switchToBinary();
+        binary = true;
+    }
+
+    @Override
+    public void closeAfterFlush() {
+        closing = true;
+        if (writer == null || !outbound.offer(SHUTDOWN)) {
+            close(); // Kuyruk dolu: bekleyenler zaten gönderilemeyecek
+        }
+    }
+
+    @Override
+    public void close() {
+        Thread w = writer;
+        if (w != null && w != Thread.currentThread()) {
+            w.interrupt();
+        }
+        try {
+            socket.close();
+        } catch (IOException e) {
+            Log.warn("Soket kapatılamadı: {}", e);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.bag_tos.roles;
+
+// Gece yetenekleri ve çözülme öncelikleri; küçük öncelik aynı gecede önce çözülür.
+// İyileştirme öldürmeden önce işaretlenir, sorgu o gecenin sonucunu görür.
+public enum Ability {
+    NONE(0),
+    HEAL(1),
+    KILL(2),
+    INVESTIGATE(3);
+
+    private final int priority;
+
+    Ability(int priority) {
+        this.priority = priority;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+}
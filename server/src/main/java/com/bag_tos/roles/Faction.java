@@ -0,0 +1,8 @@
+package com.bag_tos.roles;
+
+// Kazanma koşulları taraf üzerinden sayılır
+public enum Faction {
+    TOWN,
+    MAFIA,
+    NEUTRAL
+}
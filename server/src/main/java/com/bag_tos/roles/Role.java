@@ -2,4 +2,21 @@ package com.bag_tos.roles;
 
 public abstract class Role {
     public abstract String getName();
-}
\ No newline at end of file
+
+    public abstract Faction getFaction();
+
+    // Gece hedef seçmeyen roller için NONE
+    public Ability getAbility() {
+        return Ability.NONE;
+    }
+
+    // Varsayılan olarak yeteneğin önceliği; bir rol aynı yeteneği öne alabilir
+    public int getPriority() {
+        return getAbility().getPriority();
+    }
+
+    // Asılırsa maçı kazanan roller (Jester)
+    public boolean winsWhenHanged() {
+        return false;
+    }
+}
@@ -1,5 +1,7 @@
 package com.bag_tos.roles.mafia;
 
+import com.bag_tos.roles.Ability;
+import com.bag_tos.roles.Faction;
 import com.bag_tos.roles.Role;
 
 public class Mafya extends Role {
@@ -7,4 +9,14 @@ public class Mafya extends Role {
     public String getName() { // public ekleyin
         return "Mafya";
     }
+
+    @Override
+    public Faction getFaction() {
+        return Faction.MAFIA;
+    }
+
+    @Override
+    public Ability getAbility() {
+        return Ability.KILL;
+    }
 }
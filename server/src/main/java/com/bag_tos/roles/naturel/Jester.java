@@ -1,5 +1,6 @@
 package com.bag_tos.roles.naturel;
 
+import com.bag_tos.roles.Faction;
 import com.bag_tos.roles.Role;
 
 public class Jester extends Role {
@@ -7,4 +8,14 @@ public class Jester extends Role {
     public String getName() {
         return "Jester";
     }
+
+    @Override
+    public Faction getFaction() {
+        return Faction.NEUTRAL;
+    }
+
+    @Override
+    public boolean winsWhenHanged() {
+        return true;
+    }
 }
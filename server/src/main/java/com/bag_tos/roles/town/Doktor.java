@@ -1,8 +1,20 @@
 package com.bag_tos.roles.town;
 
+import com.bag_tos.roles.Ability;
+import com.bag_tos.roles.Faction;
 import com.bag_tos.roles.Role;
 
 public class Doktor extends Role {
     @Override
     public String getName() { return "Doktor";}
+
+    @Override
+    public Faction getFaction() {
+        return Faction.TOWN;
+    }
+
+    @Override
+    public Ability getAbility() {
+        return Ability.HEAL;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.bag_tos.roles.town;
+
+import com.bag_tos.roles.Faction;
+import com.bag_tos.roles.Role;
+
+public class Koylu extends Role {
+    @Override
+    public String getName() {
+        return "Koylu";
+    }
+
+    @Override
+    public Faction getFaction() {
+        return Faction.TOWN;
+    }
+}
@@ -1,5 +1,7 @@
 package com.bag_tos.roles.town;
 
+import com.bag_tos.roles.Ability;
+import com.bag_tos.roles.Faction;
 import com.bag_tos.roles.Role;
 
 public class Serif extends Role {
@@ -7,4 +9,14 @@ public class Serif extends Role {
     public String getName() {
         return "Serif";
     }
+
+    @Override
+    public Faction getFaction() {
+        return Faction.TOWN;
+    }
+
+    @Override
+    public Ability getAbility() {
+        return Ability.INVESTIGATE;
+    }
 }
@@ -0,0 +1,98 @@
+package com.bag_tos.timer;
+
+import com.bag_tos.log.Log;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// Tüm süreç için tek thread'le çalışan zamanlama çarkı. Zamanlama ve iptal O(1)'dir; süresi dolan
+// görevler çark thread'inde değil, verilen executor'da çalıştırılır. Çözünürlük bir tik kadardır.
+public final class HashedWheelTimer {
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+    private final Executor executor;
+    private final long startTime = System.nanoTime();
+    private long tick = 0;
+
+    public HashedWheelTimer(long tickDuration, TimeUnit unit, int wheelSize, Executor executor) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("wheelSize ikinin kuvveti olmali: " + wheelSize);
+        }
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.wheel = new Bucket[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = wheelSize - 1;
+        this.executor = executor;
+
+        Thread worker = new Thread(this::run, "wheel-timer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        Timeout timeout = new Timeout(task, System.nanoTime() - startTime + unit.toNanos(delay));
+        pending.add(timeout);
+        return timeout;
+    }
+
+    private void run() {
+        while (true) {
+            long sleepNanos = tickNanos * (tick + 1) - (System.nanoTime() - startTime);
+            if (sleepNanos > 0) {
+                LockSupport.parkNanos(this, sleepNanos);
+                continue;
+            }
+            transferPending();
+            expire(wheel[(int) (tick & mask)].timeouts);
+            tick++;
+        }
+    }
+
+    // Yeni görevler yalnızca çark thread'inde kovalara yerleştirilir, böylece kovalar kilitsizdir
+    private void transferPending() {
+        Timeout timeout;
+        while ((timeout = pending.poll()) != null) {
+            if (timeout.isDone()) {
+                continue;
+            }
+            long expiryTick = Math.max(timeout.deadline / tickNanos, tick);
+            timeout.remainingRounds = (expiryTick - tick) / wheel.length;
+            wheel[(int) (expiryTick & mask)].timeouts.add(timeout);
+        }
+    }
+
+    private void expire(List<Timeout> bucket) {
+        int kept = 0;
+        for (int i = 0; i < bucket.size(); i++) {
+            Timeout timeout = bucket.get(i);
+            if (timeout.isDone()) {
+                continue;
+            }
+            if (timeout.remainingRounds > 0) {
+                timeout.remainingRounds--;
+                bucket.set(kept++, timeout);
+            } else if (timeout.expire()) {
+                try {
+                    executor.execute(timeout.task);
+                } catch (RuntimeException e) {
+                    Log.error("Zamanlanmış görev başlatılamadı", e);
+                }
+            }
+        }
+        bucket.subList(kept, bucket.size()).clear();
+    }
+
+    // Generic dizi (List<Timeout>[]) yerine; kovaya yalnızca çark thread'i dokunur
+    private static final class Bucket {
+        final List<Timeout> timeouts = new ArrayList<>();
+    }
+}
@@ -0,0 +1,29 @@
+package com.bag_tos.timer;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// HashedWheelTimer'a verilmiş tek bir zamanlanmış görev
+public final class Timeout {
+    final Runnable task;
+    final long deadline; // Çarkın başlangıcına göre nanosaniye
+    long remainingRounds;
+    private final AtomicBoolean done = new AtomicBoolean();
+
+    Timeout(Runnable task, long deadline) {
+        this.task = task;
+        this.deadline = deadline;
+    }
+
+    // Görev henüz çalışmadıysa iptal eder; çalışmadan iptal edildiyse true döner
+    public boolean cancel() {
+        return done.compareAndSet(false, true);
+    }
+
+    public boolean isDone() {
+        return done.get();
+    }
+
+    boolean expire() {
+        return done.compareAndSet(false, true);
+    }
+}
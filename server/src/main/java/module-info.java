@@ -1,8 +1,6 @@
 module com.bag_tos {
-    requires javafx.controls;
-    requires javafx.fxml;
+    requires java.management;
+    requires jdk.httpserver;
 
-
-    opens com.bag_tos to javafx.fxml;
     exports com.bag_tos;
-}
\ No newline at end of file
+}
@@ -0,0 +1,110 @@
+package com.bag_tos;
+
+import com.bag_tos.net.ClientConnection;
+import com.bag_tos.net.Frame;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CommandTest {
+    @Test
+    void plainLineIsChat() {
+        assertEquals(Command.CHAT, Command.parse("merhaba"));
+        assertEquals("merhaba", Command.CHAT.argument("merhaba"));
+    }
+
+    @Test
+    void commandNameMustEndAtSpaceOrLineEnd() {
+        assertEquals(Command.READY, Command.parse("/ready"));
+        assertNull(Command.parse("/readyy"));
+        assertNull(Command.parse("/bilinmeyen"));
+    }
+
+    @Test
+    void targetIsFirstWordAfterName() {
+        assertEquals("ali", Command.OYLA.argument("/oyla   ali veli"));
+        assertNull(Command.OYLA.argument("/oyla "));
+    }
+
+    @Test
+    void textWithoutMessageIsNull() {
+        assertEquals("selam dostlar", Command.MAFYA.argument("/mafya selam dostlar"));
+        assertNull(Command.MAFYA.argument("/mafya"));
+        assertNull(Command.MAFYA.argument("/mafya "));
+        assertNull(Command.RESUME.argument("/devam"));
+        assertEquals("", Command.CHAT.argument(""));
+    }
+
+    private static ClientConnection recording(List<String> sent) {
+        return new ClientConnection() {
+            @Override
+            public void send(Frame frame) {
+                sent.add(frame.toString());
+            }
+
+            @Override
+            public void switchToBinary() {
+            }
+
+            @Override
+            public void close() {
+            }
+
+            @Override
+            public void closeAfterFlush() {
+            }
+        };
+    }
+
+    // Metinsiz /mafya komutu işleyiciye ulaşmaz, kullanıcıya kullanım hatası döner
+    @Test
+    void bareTextCommandGetsUsageError() {
+        List<String> sent = new ArrayList<>();
+        ClientHandler handler = new ClientHandler(recording(sent), null, "ali");
+        handler.onLine("/mafya");
+        assertEquals(1, sent.size());
+        assertTrue(sent.get(0).contains("Kullanım: /mafya <mesaj>"), sent.get(0));
+    }
+
+    @Test
+    void chatLineReachesLobby() {
+        List<String> sent = new ArrayList<>();
+        RoomHandler rooms = new RoomHandler();
+        ClientHandler handler = new ClientHandler(recording(sent), rooms, "ali");
+        rooms.addToRoom(RoomHandler.LOBBY, handler);
+        handler.onLine("selam millet");
+        assertEquals(List.of("ali: selam millet"), sent);
+    }
+
+    @Test
+    void resumeIsHandshakeOnly() {
+        Command command = Command.parse("/devam jeton 12");
+        assertEquals(Command.RESUME, command);
+        assertTrue(command.beforeLogin());
+        assertEquals("jeton 12", command.argument("/devam jeton 12"));
+        assertFalse(Command.READY.beforeLogin());
+        for (Game.Phase phase : new Game.Phase[]{null, Game.Phase.NIGHT, Game.Phase.DAY}) {
+            assertFalse(command.allowedIn(phase));
+        }
+    }
+
+    @Test
+    void watchTargetIsGameNumber() {
+        assertEquals(Command.WATCH, Command.parse("/izle 7 "));
+        assertTrue(Command.WATCH.beforeLogin());
+        assertEquals("7", Command.WATCH.argument("/izle 7 "));
+        assertNull(Command.WATCH.argument("/izle"));
+    }
+
+    @Test
+    void numberAcceptsDigitsOnly() {
+        assertEquals(42, Command.number("42", 9));
+        assertEquals(-1, Command.number("", 9));
+        assertEquals(-1, Command.number("4a", 9));
+        assertEquals(-1, Command.number("-1", 9));
+        assertEquals(-1, Command.number("1234567890", 9));
+    }
+}
@@ -0,0 +1,87 @@
+package com.bag_tos;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameLoopTest {
+    private static final int PRODUCERS = 8;
+    private static final int TASKS = 20_000; // Üretici başına
+
+    private final ExecutorService workers = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void shutdown() {
+        workers.shutdownNow();
+    }
+
+    // Çok üretici aynı anda ekler: her görev bir kez, üretici sırasıyla ve hiçbiri aynı anda çalışmaz
+    @Test
+    void runsEachTaskOnceInOrderOneAtATime() throws InterruptedException {
+        GameLoop loop = new GameLoop(workers);
+        int[] next = new int[PRODUCERS]; // Yalnızca döngü içinden yazılır; yarış varsa sıra bozulur
+        List<String> errors = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger running = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(PRODUCERS * TASKS);
+
+        List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < PRODUCERS; p++) {
+            int producer = p;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < TASKS; i++) {
+                    int seq = i;
+                    loop.execute(() -> {
+                        if (running.incrementAndGet() != 1) {
+                            errors.add("aynı anda iki görev");
+                        }
+                        if (next[producer] != seq) {
+                            errors.add("üretici " + producer + ": beklenen " + next[producer] + ", gelen " + seq);
+                        }
+                        next[producer] = seq + 1;
+                        running.decrementAndGet();
+                        done.countDown();
+                    });
+                }
+            });
+            thread.start();
+            producers.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : producers) {
+            thread.join();
+        }
+
+        assertTrue(done.await(30, TimeUnit.SECONDS), "kalan görev: " + done.getCount());
+        assertTrue(errors.isEmpty(), () -> errors.subList(0, Math.min(5, errors.size())).toString());
+        for (int p = 0; p < PRODUCERS; p++) {
+            assertEquals(TASKS, next[p]);
+        }
+    }
+
+    @Test
+    void failingTaskDoesNotStopTheLoop() throws InterruptedException {
+        GameLoop loop = new GameLoop(workers);
+        CountDownLatch done = new CountDownLatch(1);
+        loop.execute(() -> {
+            throw new IllegalStateException("deneme");
+        });
+        loop.execute(done::countDown);
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+    }
+}
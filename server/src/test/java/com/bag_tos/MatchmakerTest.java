@@ -0,0 +1,127 @@
+package com.bag_tos;
+
+import com.bag_tos.net.ClientConnection;
+import com.bag_tos.net.Frame;
+import com.bag_tos.roles.Role;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchmakerTest {
+    private static final ClientConnection SILENT = new ClientConnection() {
+        @Override
+        public void send(Frame frame) {
+        }
+
+        @Override
+        public void switchToBinary() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public void closeAfterFlush() {
+        }
+    };
+
+    private static List<ClientHandler> players(RoomHandler rooms, String prefix, int count) {
+        List<ClientHandler> players = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            players.add(new ClientHandler(SILENT, rooms, prefix + i));
+        }
+        return players;
+    }
+
+    @Test
+    void formsMatchesInArrivalOrder() {
+        List<List<ClientHandler>> matches = new ArrayList<>();
+        Matchmaker matchmaker = new Matchmaker(3, matches::add);
+        List<ClientHandler> players = players(null, "p", 7);
+
+        assertEquals(1, matchmaker.enqueue(players.get(0)));
+        assertEquals(2, matchmaker.enqueue(players.get(1)));
+        assertEquals(0, matchmaker.enqueue(players.get(2))); // Maç kuruldu
+        for (int i = 3; i < 7; i++) {
+            matchmaker.enqueue(players.get(i));
+        }
+
+        assertEquals(List.of(players.subList(0, 3), players.subList(3, 6)), matches);
+        assertEquals(1, matchmaker.size());
+    }
+
+    @Test
+    void duplicateEnqueueIsIgnored() {
+        Matchmaker matchmaker = new Matchmaker(3, m -> fail("maç kurulmamalı"));
+        ClientHandler player = players(null, "p", 1).get(0);
+        assertEquals(1, matchmaker.enqueue(player));
+        assertEquals(0, matchmaker.enqueue(player));
+        assertEquals(1, matchmaker.size());
+    }
+
+    @Test
+    void removedPlayerLeavesTheQueue() {
+        List<List<ClientHandler>> matches = new ArrayList<>();
+        Matchmaker matchmaker = new Matchmaker(3, matches::add);
+        List<ClientHandler> players = players(null, "p", 4);
+        matchmaker.enqueue(players.get(0));
+        matchmaker.enqueue(players.get(1));
+
+        assertTrue(matchmaker.remove(players.get(0)));
+        assertFalse(matchmaker.remove(players.get(0)));
+        matchmaker.enqueue(players.get(2));
+        assertTrue(matches.isEmpty());
+
+        matchmaker.enqueue(players.get(3));
+        assertEquals(List.of(players.subList(1, 4)), matches);
+        assertEquals(0, matchmaker.size());
+    }
+
+    @Test
+    void rejectsGamesSmallerThanThree() {
+        assertThrows(IllegalArgumentException.class, () -> new Matchmaker(2, m -> {
+        }));
+    }
+
+    // Kuyruktan alınırken oturumu kapanmış oyuncu varsa maç açılmaz, kalanlar sıraya geri döner
+    @Test
+    void survivorsAreRequeuedWhenAPlayerLeft() {
+        RoomHandler rooms = new RoomHandler();
+        int size = ServerConfig.GAME_SIZE;
+        List<ClientHandler> players = players(rooms, "oyuncu", size + 1);
+        ClientHandler gone = players.get(0); // Adı hiç ayrılmadı: release ile kuyruk arasında düşmüş gibi
+        for (ClientHandler player : players.subList(1, size + 1)) {
+            assertTrue(rooms.reserveUsername(player.getUsername()));
+        }
+
+        rooms.enqueue(gone);
+        for (ClientHandler player : players.subList(1, size)) {
+            rooms.enqueue(player);
+        }
+        assertNull(rooms.findGame(1));
+        players.forEach(p -> assertNull(p.getGame()));
+
+        rooms.enqueue(players.get(size));
+        Game game = rooms.findGame(1);
+        assertNotNull(game);
+        assertNull(gone.getGame());
+        for (ClientHandler player : players.subList(1, size + 1)) {
+            assertSame(game, player.getGame());
+        }
+    }
+
+    @Test
+    void rolePoolMatchesGameSize() {
+        for (int n : new int[]{3, 4, 8}) {
+            List<String> pool = Game.rolePool(n).stream().map(Role::getName).toList();
+            assertEquals(n, pool.size());
+            assertEquals(Math.max(1, n / 4), Collections.frequency(pool, "Mafya"), "n=" + n);
+            assertEquals(n >= 4 ? 1 : 0, Collections.frequency(pool, "Jester"), "n=" + n);
+        }
+    }
+}
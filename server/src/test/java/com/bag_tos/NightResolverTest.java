@@ -0,0 +1,121 @@
+package com.bag_tos;
+
+import com.bag_tos.roles.Faction;
+import com.bag_tos.roles.Role;
+import com.bag_tos.roles.mafia.Mafya;
+import com.bag_tos.roles.town.Doktor;
+import com.bag_tos.roles.town.Koylu;
+import com.bag_tos.roles.town.Serif;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NightResolverTest {
+    private final List<String> events = new ArrayList<>();
+    private PlayerTable players;
+
+    private final NightResolver.Outcome outcome = new NightResolver.Outcome() {
+        @Override
+        public void killed(int target) {
+            players.kill(target);
+            events.add("killed " + target);
+        }
+
+        @Override
+        public void investigated(int actor, int target, Faction faction) {
+            events.add(actor + " investigated " + target + " " + faction);
+        }
+    };
+
+    private NightResolver night(Role... roles) {
+        players = new PlayerTable(roles.length);
+        for (int i = 0; i < roles.length; i++) {
+            players.add(null);
+            players.setRole(i, roles[i]);
+        }
+        players.reviveAll();
+        NightResolver night = new NightResolver();
+        night.reset(roles.length);
+        return night;
+    }
+
+    @Test
+    void healSavesKillTarget() {
+        NightResolver night = night(new Mafya(), new Doktor(), new Koylu());
+        night.submit(0, players.role(0), 2); // Öldürme önce gönderilse de iyileştirme önce çözülür
+        night.submit(1, players.role(1), 2);
+        night.resolve(players, outcome);
+        assertTrue(events.isEmpty());
+        assertTrue(players.isAlive(2));
+    }
+
+    @Test
+    void unhealedTargetDies() {
+        NightResolver night = night(new Mafya(), new Doktor(), new Koylu());
+        night.submit(0, players.role(0), 2);
+        night.submit(1, players.role(1), 1);
+        night.resolve(players, outcome);
+        assertEquals(List.of("killed 2"), events);
+    }
+
+    @Test
+    void mafiaKillsPluralityTarget() {
+        NightResolver night = night(new Mafya(), new Mafya(), new Mafya(), new Koylu(), new Koylu());
+        night.submit(0, players.role(0), 4);
+        night.submit(1, players.role(1), 3);
+        night.submit(2, players.role(2), 4);
+        night.resolve(players, outcome);
+        assertEquals(List.of("killed 4"), events);
+    }
+
+    @Test
+    void pluralityTieGoesToLowerId() {
+        NightResolver night = night(new Mafya(), new Mafya(), new Koylu(), new Koylu());
+        night.submit(0, players.role(0), 3);
+        night.submit(1, players.role(1), 2);
+        night.resolve(players, outcome);
+        assertEquals(List.of("killed 2"), events);
+    }
+
+    @Test
+    void resubmissionReplacesEarlierAction() {
+        NightResolver night = night(new Mafya(), new Koylu(), new Koylu());
+        night.submit(0, players.role(0), 1);
+        night.submit(0, players.role(0), 2);
+        assertEquals(1, night.size());
+        night.resolve(players, outcome);
+        assertEquals(List.of("killed 2"), events);
+    }
+
+    @Test
+    void deadHealerDoesNotProtect() {
+        NightResolver night = night(new Mafya(), new Doktor(), new Koylu());
+        night.submit(0, players.role(0), 2);
+        night.submit(1, players.role(1), 2);
+        players.kill(1);
+        night.resolve(players, outcome);
+        assertEquals(List.of("killed 2"), events);
+    }
+
+    @Test
+    void investigationRunsAfterKillsAndReportsFaction() {
+        NightResolver night = night(new Serif(), new Mafya(), new Koylu());
+        night.submit(0, players.role(0), 1);
+        night.submit(1, players.role(1), 2);
+        night.resolve(players, outcome);
+        assertEquals(List.of("killed 2", "0 investigated 1 MAFIA"), events);
+    }
+
+    @Test
+    void resetClearsPreviousNight() {
+        NightResolver night = night(new Mafya(), new Koylu(), new Koylu());
+        night.submit(0, players.role(0), 1);
+        night.reset(3);
+        assertEquals(0, night.size());
+        night.resolve(players, outcome);
+        assertTrue(events.isEmpty());
+    }
+}
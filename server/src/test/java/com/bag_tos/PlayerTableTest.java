@@ -0,0 +1,76 @@
+package com.bag_tos;
+
+import com.bag_tos.roles.Faction;
+import com.bag_tos.roles.mafia.Mafya;
+import com.bag_tos.roles.town.Doktor;
+import com.bag_tos.roles.town.Koylu;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlayerTableTest {
+
+    private static PlayerTable table(String... names) {
+        PlayerTable players = new PlayerTable(1);
+        for (String name : names) {
+            players.add(new ClientHandler(null, null, name));
+        }
+        return players;
+    }
+
+    @Test
+    void idsFollowJoinOrderAndGrowPastCapacity() {
+        PlayerTable players = table("a", "b", "c");
+        assertEquals(3, players.size());
+        assertEquals(0, players.idOf("a"));
+        assertEquals(2, players.idOf("c"));
+        assertEquals(-1, players.idOf("x"));
+        assertEquals("b", players.nameOf(1));
+        assertNull(players.nameOf(3));
+    }
+
+    @Test
+    void removeShiftsLaterIds() {
+        PlayerTable players = table("a", "b", "c");
+        players.remove(0);
+        assertEquals(2, players.size());
+        assertEquals(-1, players.idOf("a"));
+        assertEquals(0, players.idOf("b"));
+        assertEquals(1, players.idOf("c"));
+        assertFalse(players.contains(2));
+    }
+
+    @Test
+    void killTracksAliveAndFactionCounts() {
+        PlayerTable players = table("a", "b", "c");
+        players.setRole(0, new Mafya());
+        players.setRole(1, new Doktor());
+        players.setRole(2, new Koylu());
+        players.reviveAll();
+        assertEquals(3, players.aliveCount());
+        assertEquals(1, players.aliveIn(Faction.MAFIA));
+        assertEquals(2, players.aliveIn(Faction.TOWN));
+
+        assertTrue(players.kill(1));
+        assertFalse(players.kill(1));
+        assertFalse(players.isAlive(1));
+        assertEquals(2, players.aliveCount());
+        assertEquals(1, players.aliveIn(Faction.TOWN));
+    }
+
+    @Test
+    void iterationSkipsDeadPlayers() {
+        PlayerTable players = table("a", "b", "c", "d");
+        for (int i = 0; i < 4; i++) {
+            players.setRole(i, new Koylu());
+        }
+        players.reviveAll();
+        players.kill(0);
+        players.kill(2);
+        StringBuilder alive = new StringBuilder();
+        for (int i = players.nextAlive(0); i >= 0; i = players.nextAlive(i + 1)) {
+            alive.append(players.nameOf(i));
+        }
+        assertEquals("bd", alive.toString());
+    }
+}
@@ -0,0 +1,69 @@
+package com.bag_tos;
+
+import com.bag_tos.RateLimiter.Verdict;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Varsayılan ayarlarla: satır 10/sn (20 art arda), sohbet 2/sn (5), /ready 1/sn (3), ceza kovası 50, birleştirme açık
+class RateLimiterTest {
+    private final RateLimiter limiter = new RateLimiter();
+    private final long now = System.nanoTime();
+
+    @Test
+    void chatBeyondBurstIsMergedInOrder() {
+        for (int i = 0; i < Command.CHAT.getBurst(); i++) {
+            assertEquals(Verdict.ALLOW, limiter.check(Command.CHAT, now));
+        }
+        assertEquals(Verdict.MERGE, limiter.check(Command.CHAT, now));
+        assertTrue(limiter.merge("a"));
+        assertFalse(limiter.merge("b")); // Gönderim zaten zamanlandı
+
+        assertNull(limiter.drain(now)); // Sohbet kovası boş
+        assertTrue(limiter.nanosUntilChat(now) > 0);
+        long later = now + TimeUnit.SECONDS.toNanos(1);
+        assertEquals("a | b", limiter.drain(later));
+        assertEquals("", limiter.drain(later));
+    }
+
+    @Test
+    void pendingChatQueuesNewChatEvenWithTokens() {
+        for (int i = 0; i < Command.CHAT.getBurst(); i++) {
+            limiter.check(Command.CHAT, now);
+        }
+        limiter.check(Command.CHAT, now);
+        limiter.merge("a");
+        long later = now + TimeUnit.SECONDS.toNanos(1);
+        assertEquals(Verdict.MERGE, limiter.check(Command.CHAT, later)); // Sıra bozulmasın
+    }
+
+    @Test
+    void mergedMessageIsCapped() {
+        assertFalse(limiter.merge("x".repeat(600)));
+        assertEquals("", limiter.drain(now));
+    }
+
+    @Test
+    void otherCommandsWarnOnceThenDrop() {
+        for (int i = 0; i < Command.READY.getBurst(); i++) {
+            assertEquals(Verdict.ALLOW, limiter.check(Command.READY, now));
+        }
+        assertEquals(Verdict.WARN, limiter.check(Command.READY, now));
+        assertEquals(Verdict.DROP, limiter.check(Command.READY, now));
+        assertEquals(Verdict.ALLOW, limiter.check(Command.OYLA, now)); // Komut kovaları ayrı
+    }
+
+    @Test
+    void lineFloodEndsInAbuse() {
+        for (int i = 0; i < ServerConfig.RATE_LINE_BURST; i++) {
+            assertEquals(Verdict.ALLOW, limiter.check(null, now));
+        }
+        assertEquals(Verdict.WARN, limiter.check(null, now));
+        for (int i = 1; i < ServerConfig.ABUSE_LIMIT; i++) {
+            assertEquals(Verdict.DROP, limiter.check(null, now));
+        }
+        assertEquals(Verdict.ABUSE, limiter.check(null, now));
+    }
+}
@@ -0,0 +1,86 @@
+package com.bag_tos;
+
+import com.bag_tos.net.Frame;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionTest {
+
+    private static Session text(int capacity, String... messages) {
+        Session session = new Session(false, capacity);
+        for (String message : messages) {
+            session.record(Frame.of(message));
+        }
+        return session;
+    }
+
+    private static String joined(List<Frame> frames) {
+        return String.join(",", frames.stream().map(Frame::toString).toList());
+    }
+
+    @Test
+    void tokensAreUrlSafeAndUnique() {
+        String token = new Session(false, 1).token();
+        assertEquals(22, token.length());
+        assertTrue(token.matches("[A-Za-z0-9_-]+"));
+        assertNotEquals(token, new Session(false, 1).token());
+    }
+
+    @Test
+    void replaysFramesAfterReceivedCount() {
+        Session session = text(4, "a", "b", "c");
+        List<Frame> missed = session.missedSince(1);
+        assertEquals("b,c", joined(missed));
+        assertEquals(1, session.countBefore(missed.size()));
+    }
+
+    // Çökmeden sonra açılan oturumun sayacı sıfırdır; istemcinin eski sayacı daha büyük kalır
+    @Test
+    void restoredSessionKeepsTokenAndResendsAllWhenClientIsAhead() {
+        Session session = new Session("eski-jeton", true, 4);
+        assertEquals("eski-jeton", session.token());
+        assertTrue(session.isBinary());
+        session.record(Frame.of("yeniden başladı"));
+        session.record(Frame.of("gece"));
+        List<Frame> missed = session.missedSince(120);
+        assertEquals("yeniden başladı,gece", joined(missed));
+        assertEquals(0, session.countBefore(missed.size()));
+    }
+
+    @Test
+    void nothingMissedKeepsCount() {
+        Session session = text(4, "a", "b");
+        assertTrue(session.missedSince(2).isEmpty());
+        assertEquals(2, session.countBefore(0));
+    }
+
+    // Yarısı alınmış çok satırlı mesaj bütün olarak tekrar gönderilir, sayaç mesajın başına döner
+    @Test
+    void partiallyReceivedMultiLineFrameIsResent() {
+        Session session = text(4, "x\ny", "z");
+        List<Frame> missed = session.missedSince(1);
+        assertEquals(2, missed.size());
+        assertEquals(0, session.countBefore(missed.size()));
+    }
+
+    @Test
+    void ringKeepsNewestAfterWraparound() {
+        Session session = text(3, "f0", "f1", "f2", "f3", "f4");
+        List<Frame> missed = session.missedSince(0);
+        assertEquals("f2,f3,f4", joined(missed));
+        assertEquals(2, session.countBefore(missed.size()));
+        assertEquals("f4", joined(session.missedSince(4)));
+    }
+
+    @Test
+    void binarySessionCountsFrames() {
+        Session session = new Session(true, 2);
+        session.record(Frame.of("x\ny"));
+        session.record(Frame.of("z"));
+        assertEquals(1, session.missedSince(1).size());
+        assertEquals(1, session.countBefore(1));
+    }
+}
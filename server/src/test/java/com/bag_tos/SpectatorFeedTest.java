@@ -0,0 +1,123 @@
+package com.bag_tos;
+
+import com.bag_tos.net.ClientConnection;
+import com.bag_tos.net.Frame;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpectatorFeedTest {
+    // İzleyiciye giden mesajlar; pompa thread'inden yazılır
+    private static class Recorder implements ClientConnection {
+        final List<String> received = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void send(Frame frame) {
+            received.add(frame.toString());
+        }
+
+        @Override
+        public void switchToBinary() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public void closeAfterFlush() {
+        }
+
+        List<String> await(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (received.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            synchronized (received) {
+                return new ArrayList<>(received);
+            }
+        }
+    }
+
+    private static void publish(SpectatorFeed feed, int from, int to) {
+        for (int i = from; i < to; i++) {
+            feed.publish(Frame.of("m" + i));
+        }
+    }
+
+    // Geç gelen izleyici tamponda kalan en eski mesajdan başlar, sonra canlı akışı alır
+    @Test
+    void lateSpectatorStartsFromOldestBuffered() throws InterruptedException {
+        SpectatorFeed feed = new SpectatorFeed(4, 0, TimeUnit.SECONDS);
+        publish(feed, 0, 6);
+        Recorder recorder = new Recorder();
+        feed.watch(recorder);
+        assertEquals(List.of("m2", "m3", "m4", "m5"), recorder.await(4));
+
+        publish(feed, 6, 8);
+        assertEquals(List.of("m2", "m3", "m4", "m5", "m6", "m7"), recorder.await(6));
+    }
+
+    @Test
+    void closeDeliversRestThenFinishes() throws InterruptedException {
+        SpectatorFeed feed = new SpectatorFeed(8, 0, TimeUnit.SECONDS);
+        Recorder recorder = new Recorder();
+        SpectatorFeed.Spectator spectator = feed.watch(recorder);
+        publish(feed, 0, 3);
+        feed.close();
+        assertEquals(List.of("m0", "m1", "m2", "IZLEME_BITTI"), recorder.await(4));
+        assertTrue(spectator.isFinished());
+    }
+
+    // Gecikmeli izleyici mesajı yayından en az gecikme kadar sonra alır
+    @Test
+    void delayedSpectatorWaitsForDeadline() throws InterruptedException {
+        long delayMillis = 300;
+        SpectatorFeed feed = new SpectatorFeed(8, delayMillis, TimeUnit.MILLISECONDS);
+        Recorder recorder = new Recorder();
+        feed.watch(recorder);
+        long start = System.nanoTime();
+        publish(feed, 0, 2);
+
+        Thread.sleep(delayMillis / 3);
+        assertTrue(recorder.received.isEmpty());
+        assertEquals(List.of("m0", "m1"), recorder.await(2));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(delayMillis));
+    }
+
+    // Gönderimi takılan izleyici tamponun gerisinde kalırsa en eski mesaja atlar, sırası bozulmaz
+    @Test
+    void slowSpectatorSkipsOverwrittenFrames() throws InterruptedException {
+        SpectatorFeed feed = new SpectatorFeed(4, 0, TimeUnit.SECONDS);
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Recorder recorder = new Recorder() {
+            @Override
+            public void send(Frame frame) {
+                super.send(frame);
+                if (frame.toString().equals("m0")) {
+                    blocked.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+        };
+        feed.watch(recorder);
+        publish(feed, 0, 2);
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        publish(feed, 2, 10); // m1..m5 üzerine yazılır
+        release.countDown();
+
+        List<String> received = recorder.await(5);
+        assertEquals(List.of("m0", "m6", "m7", "m8", "m9"), received);
+    }
+}
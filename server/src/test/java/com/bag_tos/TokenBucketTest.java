@@ -0,0 +1,51 @@
+package com.bag_tos;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void burstThenRefillAtRate() {
+        TokenBucket bucket = new TokenBucket(2, 3, 0);
+        assertTrue(bucket.tryAcquire(0));
+        assertTrue(bucket.tryAcquire(0));
+        assertTrue(bucket.tryAcquire(0));
+        assertFalse(bucket.tryAcquire(0));
+        assertEquals(SECOND / 2, bucket.nanosUntilToken(0));
+
+        assertFalse(bucket.tryAcquire(SECOND / 2 - 1));
+        assertTrue(bucket.tryAcquire(SECOND / 2));
+        assertFalse(bucket.tryAcquire(SECOND / 2));
+    }
+
+    @Test
+    void refillIsCappedAtBurst() {
+        TokenBucket bucket = new TokenBucket(2, 3, 0);
+        for (int i = 0; i < 3; i++) {
+            bucket.tryAcquire(0);
+        }
+        long later = 100 * SECOND;
+        for (int i = 0; i < 3; i++) {
+            assertTrue(bucket.tryAcquire(later));
+        }
+        assertFalse(bucket.tryAcquire(later));
+    }
+
+    @Test
+    void clockGoingBackwardsAddsNothing() {
+        TokenBucket bucket = new TokenBucket(1, 1, SECOND);
+        assertTrue(bucket.tryAcquire(SECOND));
+        assertFalse(bucket.tryAcquire(0));
+        assertEquals(SECOND, bucket.nanosUntilToken(SECOND));
+    }
+
+    @Test
+    void availableTokenNeedsNoWait() {
+        assertEquals(0, new TokenBucket(1, 1, 0).nanosUntilToken(0));
+    }
+}
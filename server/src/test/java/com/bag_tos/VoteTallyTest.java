@@ -0,0 +1,108 @@
+package com.bag_tos;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VoteTallyTest {
+
+    @Test
+    void leaderFollowsMostVotes() {
+        VoteTally votes = new VoteTally();
+        votes.reset(4);
+        votes.cast(0, 2);
+        votes.cast(1, 3);
+        votes.cast(2, 3);
+        assertEquals(3, votes.leader());
+        assertEquals(2, votes.leaderCount());
+    }
+
+    @Test
+    void repeatedVoteIsIgnored() {
+        VoteTally votes = new VoteTally();
+        votes.reset(3);
+        assertEquals(-1, votes.cast(0, 1));
+        assertEquals(1, votes.cast(0, 1));
+        assertEquals(1, votes.count(1));
+    }
+
+    @Test
+    void tieKeepsTargetThatReachedCountFirst() {
+        VoteTally votes = new VoteTally();
+        votes.reset(4);
+        votes.cast(0, 3);
+        votes.cast(1, 2);
+        assertEquals(3, votes.leader()); // 1-1, 3 önce ulaştı
+    }
+
+    // Önde giden oy kaybedince eşitlik oyuncu numarasıyla değil, sayıya ulaşma sırasıyla bozulur
+    @Test
+    void tieAfterLeaderLosesVoteFollowsVoteOrder() {
+        VoteTally votes = new VoteTally();
+        votes.reset(7);
+        votes.cast(0, 5);
+        votes.cast(1, 5);
+        votes.cast(2, 5);
+        votes.cast(3, 4);
+        votes.cast(4, 4); // 4 ikiye önce ulaştı
+        votes.cast(5, 1);
+        votes.cast(6, 1);
+        assertEquals(5, votes.leader());
+
+        votes.cast(0, 2); // 5: 2, 4: 2, 1: 2
+        assertEquals(4, votes.leader());
+        assertEquals(2, votes.leaderCount());
+    }
+
+    @Test
+    void leaderThatLosesVoteTrailsEqualCounts() {
+        VoteTally votes = new VoteTally();
+        votes.reset(5);
+        votes.cast(0, 3);
+        votes.cast(1, 3);
+        votes.cast(2, 4);
+        votes.cast(1, 0); // 3: 1, 4: 1, 0: 1; 4 bire önce ulaştı, 3'ün sayısı en son değişti
+        assertEquals(4, votes.leader());
+        assertEquals(1, votes.leaderCount());
+    }
+
+    @Test
+    void departedVoterNoLongerCountsTowardMajority() {
+        VoteTally votes = new VoteTally();
+        votes.reset(5);
+        votes.cast(0, 1);
+        votes.cast(2, 1);
+        votes.cast(3, 1);
+        assertTrue(votes.hasMajority(5));
+
+        votes.withdraw(0); // 0 oyundan ayrıldı, 4 canlı kaldı
+        assertEquals(2, votes.count(1));
+        assertFalse(votes.hasMajority(4));
+    }
+
+    @Test
+    void departedLeaderIsReplacedByLiveRunnerUp() {
+        VoteTally votes = new VoteTally();
+        votes.reset(5);
+        votes.cast(0, 1);
+        votes.cast(2, 1);
+        votes.cast(3, 4);
+        assertEquals(1, votes.leader());
+
+        votes.withdraw(1);
+        assertEquals(0, votes.count(1));
+        assertEquals(4, votes.leader());
+        assertEquals(-1, votes.cast(0, 4)); // Oyu silinen yeniden oy verebilir
+        assertEquals(2, votes.count(4));
+    }
+
+    @Test
+    void withdrawWithoutVotesClearsNothing() {
+        VoteTally votes = new VoteTally();
+        votes.withdraw(3); // Henüz gündüz olmadı
+        votes.reset(3);
+        votes.withdraw(2);
+        assertEquals(-1, votes.leader());
+        assertEquals(0, votes.leaderCount());
+    }
+}
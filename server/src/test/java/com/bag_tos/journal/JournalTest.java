@@ -0,0 +1,188 @@
+package com.bag_tos.journal;
+
+import com.bag_tos.journal.JournalReader.JournalRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournalTest {
+    private static final int SEGMENT = 64 * 1024;
+
+    @TempDir
+    Path dir;
+
+    private List<JournalRecord> read() throws IOException {
+        List<JournalRecord> records = new ArrayList<>();
+        JournalReader.read(dir, records::add);
+        return records;
+    }
+
+    // Parçadaki son geçerli kaydın bittiği yer
+    private int end(int segment) throws IOException {
+        try (FileChannel channel = FileChannel.open(JournalReader.segmentPath(dir, segment), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return JournalReader.endOfRecords(buffer);
+        }
+    }
+
+    private void flipByte(int segment, int position) throws IOException {
+        try (FileChannel channel = FileChannel.open(JournalReader.segmentPath(dir, segment), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer one = ByteBuffer.allocate(1);
+            channel.read(one, position);
+            one.put(0, (byte) ~one.get(0)).rewind();
+            channel.write(one, position);
+        }
+    }
+
+    @Test
+    void everyRecordTypeRoundTrips() throws IOException {
+        Journal journal = new Journal(dir, SEGMENT);
+        journal.playerJoined(3, 0, "ayşe");
+        journal.playerLeft(3, 1);
+        journal.roleAssigned(3, 0, "Doktor");
+        journal.phase(3, 1, 1_700_000_000_000L);
+        journal.nightAction(3, 0, 2);
+        journal.vote(3, 2, 0);
+        journal.death(3, 2, Journal.HANGED);
+        journal.gameOver(3, "Köylü");
+        journal.session(3, 1, true, "jeton");
+        journal.flush();
+
+        List<JournalRecord> records = read();
+        assertEquals(9, records.size());
+        records.forEach(r -> assertEquals(3, r.game()));
+        assertEquals(List.of(Journal.PLAYER_JOINED, Journal.PLAYER_LEFT, Journal.ROLE_ASSIGNED, Journal.PHASE,
+                Journal.NIGHT_ACTION, Journal.VOTE, Journal.DEATH, Journal.GAME_OVER, Journal.SESSION), records.stream().map(JournalRecord::type).toList());
+        assertEquals("ayşe", records.get(0).text());
+        assertEquals(1, records.get(1).player());
+        assertEquals("Doktor", records.get(2).text());
+        assertEquals(1, records.get(3).target());
+        assertEquals(1_700_000_000_000L, records.get(3).value());
+        assertEquals(0, records.get(4).player());
+        assertEquals(2, records.get(4).target());
+        assertEquals(2, records.get(5).player());
+        assertEquals(0, records.get(5).target());
+        assertEquals(Journal.HANGED, records.get(6).target());
+        assertEquals("Köylü", records.get(7).text());
+        assertEquals(1, records.get(8).player());
+        assertEquals(1, records.get(8).target());
+        assertEquals("jeton", records.get(8).text());
+    }
+
+    // 255 baytı aşan metin çok baytlı bir karakterin ortasından kesilmez
+    @Test
+    void longTextIsCutOnCharacterBoundary() throws IOException {
+        Journal journal = new Journal(dir, SEGMENT);
+        journal.playerJoined(1, 0, "ş".repeat(200));
+        assertEquals("ş".repeat(127), read().get(0).text());
+    }
+
+    @Test
+    void crcMismatchEndsTheSegment() throws IOException {
+        Journal journal = new Journal(dir, SEGMENT);
+        journal.vote(1, 0, 1);
+        int second = end(1);
+        journal.vote(1, 1, 2);
+        journal.vote(1, 2, 0);
+        flipByte(1, second + Journal.HEADER + Journal.BODY_HEADER); // İkinci kaydın oy veren alanı
+
+        List<JournalRecord> records = read();
+        assertEquals(1, records.size());
+        assertEquals(0, records.get(0).player());
+    }
+
+    @Test
+    void fullSegmentRollsIntoNextFile() throws IOException {
+        Journal journal = new Journal(dir, 256);
+        for (int i = 0; i < 50; i++) {
+            journal.vote(1, i, i + 1);
+        }
+        assertTrue(JournalReader.segments(dir).size() > 1);
+        assertEquals(JournalReader.segments(dir).size(), JournalReader.lastSegmentIndex(dir));
+
+        List<JournalRecord> records = read();
+        assertEquals(50, records.size());
+        for (int i = 0; i < 50; i++) {
+            assertEquals(i, records.get(i).player());
+        }
+    }
+
+    // Çökme anında yarım kalan kayıt okunmaz; yeniden açılan günlük onun üzerine yazar
+    @Test
+    void tornTailIsIgnoredAndOverwritten() throws IOException {
+        Journal journal = new Journal(dir, SEGMENT);
+        journal.playerJoined(1, 0, "ali");
+        int torn = end(1);
+        journal.playerJoined(1, 1, "veli");
+        flipByte(1, torn + 2); // CRC tutmaz
+        assertEquals(List.of("ali"), read().stream().map(JournalRecord::text).toList());
+
+        Journal reopened = new Journal(dir, SEGMENT);
+        reopened.playerJoined(1, 1, "can");
+        assertEquals(List.of("ali", "can"), read().stream().map(JournalRecord::text).toList());
+        assertEquals(1, JournalReader.segments(dir).size());
+    }
+
+    // Açılışta kurtarılacaklar: yalnızca son açılışın başlamış ve bitmemiş maçları
+    @Test
+    void interruptedGamesComeFromTheLastRunOnly() throws IOException {
+        Journal journal = new Journal(dir, SEGMENT);
+        journal.serverStart();
+        journal.playerJoined(1, 0, "eski");
+        journal.roleAssigned(1, 0, "Koylu");
+        journal.phase(1, 0, 0);
+
+        journal.serverStart();
+        String[] names = {"ali", "veli", "can", "ece"};
+        for (int i = 0; i < names.length; i++) {
+            journal.playerJoined(1, i, names[i]);
+            journal.session(1, i, i == 1, "jeton" + i);
+        }
+        for (int i = 0; i < names.length; i++) {
+            journal.roleAssigned(1, i, i == 0 ? "Mafya" : "Koylu");
+        }
+        journal.phase(1, 0, 0);
+        journal.death(1, 3, Journal.KILLED);
+        journal.phase(1, 1, 0);
+        journal.vote(1, 0, 1);
+        journal.vote(1, 2, 0);
+        journal.death(1, 2, Journal.LEFT);
+        journal.vote(1, 1, 0);
+        journal.playerJoined(2, 0, "lobide"); // Başlamamış maç kurtarılmaz
+        journal.playerJoined(3, 0, "biten");
+        journal.roleAssigned(3, 0, "Koylu");
+        journal.phase(3, 0, 0);
+        journal.gameOver(3, "Köylü");
+
+        List<JournalReplay.ReplayedGame> interrupted = JournalReplay.interrupted(dir);
+        assertEquals(1, interrupted.size());
+        JournalReplay.ReplayedGame game = interrupted.get(0);
+        assertEquals("2#1", game.getKey());
+        assertEquals(List.of(names), game.getPlayers());
+        assertEquals(List.of("jeton0", "jeton1", "jeton2", "jeton3"), game.getTokens());
+        assertEquals(List.of(false, true, false, false), game.getBinary());
+        assertEquals(1, game.getPhase());
+        assertEquals("{0, 1}", game.getAlive().toString());
+        assertEquals("{2}", game.getLeft().toString());
+        assertEquals(List.of("0->1", "2->0", "2->-1", "1->0"), game.getVoteLog().stream().map(v -> v[0] + "->" + v[1]).toList());
+    }
+
+    @Test
+    void segmentSizeMustFitOneMapping() {
+        assertEquals(1 << 20, Journal.segmentBytes(1));
+        assertEquals(2047 << 20, Journal.segmentBytes(2047));
+        assertThrows(IllegalArgumentException.class, () -> Journal.segmentBytes(0));
+        assertThrows(IllegalArgumentException.class, () -> Journal.segmentBytes(2048));
+        assertThrows(IllegalArgumentException.class, () -> Journal.segmentBytes(-5));
+    }
+}
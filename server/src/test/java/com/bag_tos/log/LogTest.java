@@ -0,0 +1,110 @@
+package com.bag_tos.log;
+
+import com.bag_tos.MessageUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogTest {
+    private final StringWriter out = new StringWriter();
+
+    @BeforeEach
+    void capture() {
+        Log.setOutput(out);
+    }
+
+    @AfterEach
+    void restore() {
+        MessageUtils.setDebugMode(false);
+        Log.setOutput(null);
+    }
+
+    // Başka testlerden kalan maç thread'lerinin kayıtları thread adına göre ayıklanır
+    private List<String> lines(String thread, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (true) {
+            List<String> lines = out.toString().lines().filter(l -> l.contains(" [" + thread)).toList();
+            if (lines.size() >= expected || System.nanoTime() > deadline) {
+                return lines;
+            }
+            Thread.sleep(1);
+        }
+    }
+
+    // Tampon birkaç kez döner; her tur kapasitenin yarısını doldurur, böylece hiçbir kayıt düşmez
+    @Test
+    void concurrentWritersLoseNothingAcrossWraps() throws Exception {
+        int threads = 4;
+        int perRound = Log.CAPACITY / 2 / threads;
+        int rounds = 6;
+        CyclicBarrier round = new CyclicBarrier(threads);
+        List<Thread> writers = new ArrayList<>();
+        int[] written = new int[threads];
+        for (int t = 0; t < threads; t++) {
+            int id = t;
+            Thread thread = new Thread(() -> {
+                try {
+                    for (int r = 0; r < rounds; r++) {
+                        for (int i = 0; i < perRound; i++) {
+                            Log.info("yazici {} kayit {}", id, written[id]++);
+                        }
+                        round.await();
+                        lines("yazici-", threads * perRound * (r + 1));
+                    }
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }, "yazici-" + t);
+            writers.add(thread);
+            thread.start();
+        }
+        for (Thread thread : writers) {
+            thread.join();
+        }
+
+        int total = threads * perRound * rounds;
+        assertTrue(total > 2 * Log.CAPACITY);
+        List<String> lines = lines("yazici-", total);
+        assertEquals(total, lines.size());
+        int[] next = new int[threads];
+        for (String line : lines) {
+            assertTrue(line.contains(" INFO "), line);
+            String[] words = line.substring(line.indexOf("] ") + 2).split(" ");
+            int id = Integer.parseInt(words[1]);
+            assertEquals(next[id]++, Integer.parseInt(words[3]), line);
+        }
+        for (int t = 0; t < threads; t++) {
+            assertEquals(perRound * rounds, next[t]);
+        }
+    }
+
+    @Test
+    void templateArgumentsAndLevels() throws InterruptedException {
+        MessageUtils.setDebugMode(false);
+        assertEquals(Log.Level.INFO, Log.getLevel());
+        Log.debug("gizli {}", 1);
+        Log.info("bir {} iki {} üç {}", 1, 2, 3);
+
+        MessageUtils.setDebugMode(true);
+        assertTrue(Log.isDebug());
+        Log.debug("görünür {}", 2);
+        Log.error("hata", new IllegalStateException("deneme"));
+
+        List<String> lines = lines(Thread.currentThread().getName() + "]", 3);
+        assertTrue(lines.get(0).endsWith("INFO [" + Thread.currentThread().getName() + "] bir 1 iki 2 üç 3"), lines.get(0));
+        assertTrue(lines.get(1).endsWith("] görünür 2"), lines.get(1));
+        assertTrue(lines.get(2).contains("ERROR"), lines.get(2));
+        assertTrue(out.toString().contains("IllegalStateException: deneme"));
+        assertTrue(lines.stream().noneMatch(l -> l.contains("gizli")));
+
+        MessageUtils.setDebugMode(false);
+        assertFalse(Log.isDebug());
+    }
+}
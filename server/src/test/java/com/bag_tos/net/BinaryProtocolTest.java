@@ -0,0 +1,149 @@
+package com.bag_tos.net;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryProtocolTest {
+    private record Decoded(int opcode, ByteBuffer payload) {
+    }
+
+    // Sunucu çerçevesi istemci çerçevesiyle aynı biçimde; sunucunun kendi çözücüsüyle geri okunur
+    private static Decoded decode(byte[] frame) {
+        InboundDecoder decoder = new InboundDecoder();
+        decoder.switchToBinary();
+        List<Decoded> frames = new ArrayList<>();
+        decoder.decode(ByteBuffer.wrap(frame), new LineHandler() {
+            @Override
+            public void onConnect() {
+            }
+
+            @Override
+            public void onLine(String line) {
+                fail("ikili modda satır: " + line);
+            }
+
+            @Override
+            public void onFrame(int opcode, ByteBuffer payload) {
+                ByteBuffer copy = ByteBuffer.allocate(payload.remaining()).put(payload).flip();
+                frames.add(new Decoded(opcode, copy));
+            }
+
+            @Override
+            public void onDisconnect() {
+            }
+        });
+        assertEquals(1, frames.size());
+        return frames.get(0);
+    }
+
+    @Test
+    void negotiationStrings() {
+        assertEquals("/ikili", BinaryProtocol.NEGOTIATE);
+        assertEquals("PROTOKOL:IKILI", BinaryProtocol.ACK);
+    }
+
+    @Test
+    void clientAndServerOpcodesDoNotOverlap() throws IllegalAccessException {
+        Set<Integer> seen = new HashSet<>();
+        for (Field field : BinaryProtocol.class.getFields()) {
+            if (!Modifier.isStatic(field.getModifiers()) || field.getType() != int.class) {
+                continue;
+            }
+            int opcode = field.getInt(null);
+            if (field.getName().startsWith("C_")) {
+                assertTrue(opcode > 0 && opcode < 0x40, field.getName());
+            } else if (field.getName().startsWith("S_")) {
+                assertTrue(opcode >= 0x40 && opcode <= 0xFF, field.getName());
+            } else {
+                continue;
+            }
+            assertTrue(seen.add(opcode), "tekrarlanan opcode: " + field.getName());
+        }
+    }
+
+    @Test
+    void lengthCountsOpcodeAndPayload() {
+        byte[] frame = BinaryProtocol.killed(7);
+        assertEquals(5, frame.length);
+        assertEquals(3, ((frame[0] & 0xFF) << 8) | (frame[1] & 0xFF));
+        assertEquals(BinaryProtocol.S_KILLED, frame[2]);
+    }
+
+    @Test
+    void chatCarriesPlayerIdBeforeText() {
+        Decoded chat = decode(BinaryProtocol.chat(3, "selam şişe"));
+        assertEquals(BinaryProtocol.S_CHAT, chat.opcode());
+        assertEquals(3, BinaryProtocol.readPlayerId(chat.payload()));
+        assertEquals("selam şişe", BinaryProtocol.readText(chat.payload()));
+    }
+
+    @Test
+    void textWithoutPlayerHasNoIdPrefix() {
+        Decoded text = decode(BinaryProtocol.text("SISTEM: merhaba"));
+        assertEquals(BinaryProtocol.S_TEXT, text.opcode());
+        assertEquals("SISTEM: merhaba", BinaryProtocol.readText(text.payload()));
+    }
+
+    @Test
+    void voteAndDeadlineFields() {
+        Decoded vote = decode(BinaryProtocol.vote(1, 2, 3));
+        assertEquals(BinaryProtocol.S_VOTE, vote.opcode());
+        assertEquals(1, vote.payload().getShort());
+        assertEquals(2, vote.payload().getShort());
+        assertEquals(3, vote.payload().getShort());
+
+        Decoded deadline = decode(BinaryProtocol.deadline(1_700_000_000_123L));
+        assertEquals(BinaryProtocol.S_DEADLINE, deadline.opcode());
+        assertEquals(1_700_000_000_123L, deadline.payload().getLong());
+    }
+
+    @Test
+    void readPlayerIdNeedsTwoBytes() {
+        assertEquals(-1, BinaryProtocol.readPlayerId(ByteBuffer.wrap(new byte[1])));
+        assertEquals(0xFFFE, BinaryProtocol.readPlayerId(ByteBuffer.wrap(new byte[]{(byte) 0xFF, (byte) 0xFE})));
+    }
+
+    // Sınırı aşan metin karakter ortasından değil, son tam karakterden kesilir
+    // (çözücü 8 KB üstünü atladığı için çerçeve elle okunur)
+    @Test
+    void oversizedTextIsCutOnCharacterBoundary() {
+        byte[] frame = BinaryProtocol.chat(1, "ş".repeat(40_000)); // 80 000 bayt
+        ByteBuffer buffer = ByteBuffer.wrap(frame);
+        assertEquals(frame.length - 2, buffer.getShort() & 0xFFFF);
+        assertEquals(BinaryProtocol.S_CHAT, buffer.get());
+        assertEquals(1, BinaryProtocol.readPlayerId(buffer));
+        int textBytes = buffer.remaining();
+        assertTrue(textBytes <= BinaryProtocol.MAX_FRAME_LENGTH - 3);
+        assertEquals(0, textBytes % 2);
+        assertEquals("ş".repeat(textBytes / 2), BinaryProtocol.readText(buffer));
+    }
+
+    // Aynı Frame metin istemcisine satır, ikili istemciye anlamsal çerçeve olarak gider
+    @Test
+    void frameCarriesBothEncodings() {
+        Frame frame = Frame.of("[GECE] ali olduruldu", BinaryProtocol.killed(2));
+        assertEquals("[GECE] ali olduruldu\n", new String(frame.bytes(false), StandardCharsets.UTF_8));
+        Decoded killed = decode(frame.bytes(true));
+        assertEquals(BinaryProtocol.S_KILLED, killed.opcode());
+        assertEquals(2, killed.payload().getShort());
+    }
+
+    @Test
+    void frameWithoutBinaryFormFallsBackToText() {
+        Frame frame = Frame.of("İki\nsatır");
+        assertEquals(2, frame.lineCount());
+        Decoded text = decode(frame.bytes(true));
+        assertEquals(BinaryProtocol.S_TEXT, text.opcode());
+        assertEquals("İki\nsatır", BinaryProtocol.readText(text.payload()));
+    }
+}
@@ -0,0 +1,106 @@
+package com.bag_tos.net;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InboundDecoderTest {
+    private final InboundDecoder decoder = new InboundDecoder();
+    private final List<String> received = new ArrayList<>();
+
+    // Satırları olduğu gibi, çerçeveleri "opcode:metin" olarak kaydeder; "/ikili" satırı ikili moda geçirir
+    private final LineHandler handler = new LineHandler() {
+        @Override
+        public void onConnect() {
+        }
+
+        @Override
+        public void onLine(String line) {
+            received.add(line);
+            if (line.equals(BinaryProtocol.NEGOTIATE)) {
+                decoder.switchToBinary();
+            }
+        }
+
+        @Override
+        public void onFrame(int opcode, ByteBuffer payload) {
+            received.add(opcode + ":" + StandardCharsets.UTF_8.decode(payload));
+        }
+
+        @Override
+        public void onDisconnect() {
+        }
+    };
+
+    private void feed(byte[]... reads) {
+        for (byte[] read : reads) {
+            decoder.decode(ByteBuffer.wrap(read), handler);
+        }
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] frame(int opcode, String text) {
+        byte[] payload = bytes(text);
+        ByteBuffer buffer = ByteBuffer.allocate(3 + payload.length);
+        buffer.putShort((short) (1 + payload.length)).put((byte) opcode).put(payload);
+        return buffer.array();
+    }
+
+    @Test
+    void linesSplitAcrossReadsAreJoined() {
+        feed(bytes("mer"), bytes("haba\r\nsel"), bytes("am\n"));
+        assertEquals(List.of("merhaba", "selam"), received);
+    }
+
+    @Test
+    void multiByteCharacterSplitAcrossReads() {
+        byte[] line = bytes("şş\n");
+        feed(new byte[]{line[0]}, java.util.Arrays.copyOfRange(line, 1, line.length));
+        assertEquals(List.of("şş"), received);
+    }
+
+    @Test
+    void overlongLineIsDroppedUntilNewline() {
+        byte[] tooLong = new byte[InboundDecoder.MAX_LINE_LENGTH + 10];
+        java.util.Arrays.fill(tooLong, (byte) 'a');
+        feed(tooLong, bytes("\nok\n"));
+        assertEquals(List.of("ok"), received);
+    }
+
+    @Test
+    void framesDecodedOneByteAtATime() {
+        decoder.switchToBinary();
+        byte[] data = frame(BinaryProtocol.C_CHAT, "selam");
+        for (byte b : data) {
+            feed(new byte[]{b});
+        }
+        assertEquals(List.of(BinaryProtocol.C_CHAT + ":selam"), received);
+    }
+
+    @Test
+    void modeSwitchAppliesToRestOfSameRead() {
+        byte[] negotiate = bytes(BinaryProtocol.NEGOTIATE + "\n");
+        byte[] first = frame(BinaryProtocol.C_USERNAME, "ali");
+        byte[] second = frame(BinaryProtocol.C_READY, "");
+        ByteBuffer all = ByteBuffer.allocate(negotiate.length + first.length + second.length);
+        feed(all.put(negotiate).put(first).put(second).array());
+        assertEquals(List.of(BinaryProtocol.NEGOTIATE, BinaryProtocol.C_USERNAME + ":ali", BinaryProtocol.C_READY + ":"), received);
+    }
+
+    @Test
+    void oversizedFrameIsSkipped() {
+        decoder.switchToBinary();
+        int length = InboundDecoder.MAX_LINE_LENGTH + 1;
+        ByteBuffer oversized = ByteBuffer.allocate(2 + length).putShort((short) length);
+        feed(oversized.array(), frame(BinaryProtocol.C_CHAT, "sonra"));
+        assertEquals(List.of(BinaryProtocol.C_CHAT + ":sonra"), received);
+    }
+}
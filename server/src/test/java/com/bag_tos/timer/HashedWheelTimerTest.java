@@ -0,0 +1,74 @@
+package com.bag_tos.timer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashedWheelTimerTest {
+    // 8 kova x 10 ms: bir tur 80 ms
+    private final HashedWheelTimer timer = new HashedWheelTimer(10, TimeUnit.MILLISECONDS, 8, Runnable::run);
+
+    @Test
+    void rejectsWheelSizeThatIsNotPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new HashedWheelTimer(10, TimeUnit.MILLISECONDS, 6, Runnable::run));
+    }
+
+    @Test
+    void neverFiresBeforeDeadline() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(1);
+        long start = System.nanoTime();
+        long[] elapsed = new long[1];
+        timer.schedule(() -> {
+            elapsed[0] = System.nanoTime() - start;
+            fired.countDown();
+        }, 50, TimeUnit.MILLISECONDS);
+        assertTrue(fired.await(2, TimeUnit.SECONDS));
+        assertTrue(elapsed[0] >= TimeUnit.MILLISECONDS.toNanos(50), "erken calisti: " + elapsed[0]);
+    }
+
+    // Bir turdan uzun süreler kovada tur sayısıyla bekler
+    @Test
+    void delayLongerThanOneRevolutionWaitsExtraRounds() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(1);
+        long start = System.nanoTime();
+        long[] elapsed = new long[1];
+        timer.schedule(() -> {
+            elapsed[0] = System.nanoTime() - start;
+            fired.countDown();
+        }, 200, TimeUnit.MILLISECONDS);
+        assertTrue(fired.await(2, TimeUnit.SECONDS));
+        assertTrue(elapsed[0] >= TimeUnit.MILLISECONDS.toNanos(200), "erken calisti: " + elapsed[0]);
+    }
+
+    @Test
+    void cancelledTaskNeverRuns() throws InterruptedException {
+        AtomicInteger runs = new AtomicInteger();
+        Timeout timeout = timer.schedule(runs::incrementAndGet, 30, TimeUnit.MILLISECONDS);
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+        Thread.sleep(150);
+        assertEquals(0, runs.get());
+        assertTrue(timeout.isDone());
+    }
+
+    @Test
+    void cancelAfterRunReturnsFalse() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(1);
+        Timeout timeout = timer.schedule(fired::countDown, 0, TimeUnit.MILLISECONDS);
+        assertTrue(fired.await(2, TimeUnit.SECONDS));
+        assertFalse(timeout.cancel());
+    }
+
+    @Test
+    void tasksInSameBucketAllFire() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(100);
+        for (int i = 0; i < 100; i++) {
+            timer.schedule(fired::countDown, 20 + i % 3, TimeUnit.MILLISECONDS);
+        }
+        assertTrue(fired.await(2, TimeUnit.SECONDS));
+    }
+}